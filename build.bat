@@ -9,7 +9,7 @@ if not exist "dist" mkdir dist
 
 REM Компилируем Java файлы
 echo Compiling Java sources...
-javac -d out\classes -encoding UTF-8 -sourcepath src src\Main.java
+javac -d out\classes -encoding UTF-8 -sourcepath src src\Main.java src\BatchRender.java
 
 if errorlevel 1 (
     echo Compilation failed!
@@ -9,7 +9,7 @@ mkdir -p dist
 
 # Компилируем Java файлы
 echo "Compiling Java sources..."
-javac -d out/classes -encoding UTF-8 -sourcepath src src/Main.java
+javac -d out/classes -encoding UTF-8 -sourcepath src src/Main.java src/BatchRender.java
 
 if [ $? -ne 0 ]; then
     echo "Compilation failed!"
@@ -0,0 +1,179 @@
+import io.ObjReader;
+import model.Model;
+import model.Scene;
+import render.OffscreenRenderer;
+import render.SceneRenderer;
+import render.Shading;
+import render.ViewCamera;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Пакетный рендеринг OBJ-файлов в PNG без окна.
+ * Файлы распределяются по ядрам: у каждого рабочего потока свой рендерер, файл читается
+ * и рендерится целиком в одном потоке, тайлы кадров растеризуются в общем пуле.
+ */
+public class BatchRender {
+    private static final String USAGE =
+        "Usage: java -Djava.awt.headless=true -cp ModelViewer.jar BatchRender [options] <model.obj>...\n" +
+        "Options:\n" +
+        "  -o <dir>          output directory (default: current directory)\n" +
+        "  -size <W>x<H>     image size (default: 512x512)\n" +
+        "  -turntable <N>    render N frames rotating around the model\n" +
+        "  -threads <N>      number of worker threads (default: number of cores)\n" +
+        "  -shading <mode>   flat, gouraud or phong (default: phong)\n" +
+        "  -style <style>    solid, wireframe or hidden_line (default: solid)\n" +
+        "  -vertices         draw vertices as points, as the viewer does";
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        File outputDir = new File(".");
+        int width = 512, height = 512;
+        int frames = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean showVertices = false;
+        Shading.Mode shadingMode = Shading.Mode.PHONG;
+        SceneRenderer.Style style = SceneRenderer.Style.SOLID;
+        List<String> files = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-o":
+                        outputDir = new File(args[++i]);
+                        break;
+                    case "-size": {
+                        String[] size = args[++i].toLowerCase().split("x");
+                        width = Integer.parseInt(size[0]);
+                        height = Integer.parseInt(size[1]);
+                        break;
+                    }
+                    case "-turntable":
+                        frames = Integer.parseInt(args[++i]);
+                        break;
+                    case "-threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "-shading":
+                        shadingMode = Shading.Mode.valueOf(args[++i].toUpperCase());
+                        break;
+                    case "-style":
+                        style = SceneRenderer.Style.valueOf(args[++i].toUpperCase());
+                        break;
+                    case "-vertices":
+                        showVertices = true;
+                        break;
+                    default:
+                        files.add(args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        if (files.isEmpty() || width <= 0 || height <= 0 || frames <= 0 || threads <= 0) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            System.err.println("Cannot create output directory: " + outputDir);
+            System.exit(1);
+        }
+
+        int failed = run(files, outputDir, width, height, frames, threads, showVertices, shadingMode, style);
+        System.exit(failed == 0 ? 0 : 1);
+    }
+
+    /**
+     * Рендерит все файлы и возвращает число ошибок
+     */
+    private static int run(List<String> files, File outputDir, int width, int height,
+                           int frames, int threads, boolean showVertices,
+                           Shading.Mode shadingMode, SceneRenderer.Style style) {
+        // Свой рендерер на рабочий поток; пул тайлов общий и не шире числа рабочих потоков,
+        // чтобы не перегружать ядра, и закрывается вместе с ними
+        ForkJoinPool tilePool = new ForkJoinPool(threads);
+        ThreadLocal<OffscreenRenderer> renderers = ThreadLocal.withInitial(() -> {
+            OffscreenRenderer renderer = new OffscreenRenderer(tilePool);
+            renderer.setShowVertices(showVertices);
+            return renderer;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicInteger rendered = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long start = System.nanoTime();
+
+        // Одна задача на файл: чтение, подбор камеры и все кадры поворота. Файлы разбираются
+        // параллельно, а сцена освобождается сразу после записи своих кадров
+        for (String file : files) {
+            executor.execute(() -> renderFile(file, renderers.get(), outputDir, width, height, frames,
+                shadingMode, style, rendered, failed));
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        tilePool.shutdown();
+
+        System.out.printf("Rendered %d images in %.1f s (%d failed)%n",
+            rendered.get(), (System.nanoTime() - start) / 1e9, failed.get());
+        return failed.get();
+    }
+
+    /**
+     * Читает один файл и рендерит его кадры поворота в текущем рабочем потоке
+     */
+    private static void renderFile(String file, OffscreenRenderer renderer, File outputDir, int width, int height,
+                                   int frames, Shading.Mode shadingMode, SceneRenderer.Style style,
+                                   AtomicInteger rendered, AtomicInteger failed) {
+        Scene scene = new Scene();
+        ViewCamera fitted;
+        try {
+            Model model = ObjReader.read(file);
+            scene.addModel(model);
+            fitted = OffscreenRenderer.fitCamera(scene);
+        } catch (Exception e) {
+            System.err.println("Failed to read " + file + ": " + e.getMessage());
+            failed.incrementAndGet();
+            return;
+        }
+        fitted.shadingMode = shadingMode;
+        fitted.style = style;
+        String baseName = baseName(file);
+
+        for (int frame = 0; frame < frames; frame++) {
+            ViewCamera camera = fitted.copy();
+            camera.rotationY = (float) (2 * Math.PI * frame / frames);
+            File output = new File(outputDir, frames == 1
+                ? baseName + ".png"
+                : String.format("%s_%04d.png", baseName, frame));
+            try {
+                BufferedImage image = renderer.render(scene, camera, width, height);
+                ImageIO.write(image, "png", output);
+                rendered.incrementAndGet();
+            } catch (Exception e) {
+                System.err.println("Failed to render " + output + ": " + e.getMessage());
+                failed.incrementAndGet();
+            }
+        }
+    }
+
+    private static String baseName(String path) {
+        String name = new File(path).getName();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+}
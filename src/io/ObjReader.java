@@ -1,10 +1,9 @@
 package io;
 
 import model.Model;
-import model.Vertex;
-import model.Polygon;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 import java.io.File;
@@ -82,8 +81,9 @@ public class ObjReader {
                 }
             }
 
-            // Создаем вершины с UV и нормалями (если есть)
-            // Для простоты: для каждой грани создаём новые вершины (без оптимизации по совпадающим)
+            // Углы граней с одинаковой тройкой (v, vt, vn) сливаются в одну вершину модели
+            CornerMap corners = new CornerMap(Math.max(16, tempVertices.size()));
+            int[] triangle = new int[3];
             for (int f = 0; f < faceVertexIndices.size(); f++) {
                 int[] vIdx = faceVertexIndices.get(f);
                 int[] tIdx = faceTexIndices.get(f);
@@ -91,30 +91,20 @@ public class ObjReader {
                 // Триангуляция: разбиваем n-угольник на (n-2) треугольника (фан)
                 if (vIdx.length < 3) continue;
                 for (int i = 1; i < vIdx.length - 1; i++) {
-                    List<Integer> triIndices = new ArrayList<>();
-                    int[] triV = {0, i, i+1};
-                    for (int j = 0; j < 3; j++) {
-                        int vi = vIdx[triV[j]];
-                        int ti = tIdx[triV[j]];
-                        int ni = nIdx[triV[j]];
-                        double[] pos = vi >= 0 ? tempVertices.get(vi) : new double[]{0,0,0};
-                        double u = (ti >= 0 && ti < tempTexCoords.size()) ? tempTexCoords.get(ti)[0] : 0.0;
-                        double v = (ti >= 0 && ti < tempTexCoords.size()) ? tempTexCoords.get(ti)[1] : 0.0;
-                        double nx = (ni >= 0 && ni < tempNormals.size()) ? tempNormals.get(ni)[0] : 0.0;
-                        double ny = (ni >= 0 && ni < tempNormals.size()) ? tempNormals.get(ni)[1] : 0.0;
-                        double nz = (ni >= 0 && ni < tempNormals.size()) ? tempNormals.get(ni)[2] : 1.0;
-                        Vertex vert = new Vertex(pos[0], pos[1], pos[2], u, v, nx, ny, nz);
-                        model.addVertex(vert);
-                        triIndices.add(model.getVertexCount() - 1);
-                    }
-                    model.addPolygon(new Polygon(triIndices));
+                    triangle[0] = cornerVertex(model, corners, vIdx[0], tIdx[0], nIdx[0],
+                        tempVertices, tempTexCoords, tempNormals);
+                    triangle[1] = cornerVertex(model, corners, vIdx[i], tIdx[i], nIdx[i],
+                        tempVertices, tempTexCoords, tempNormals);
+                    triangle[2] = cornerVertex(model, corners, vIdx[i + 1], tIdx[i + 1], nIdx[i + 1],
+                        tempVertices, tempTexCoords, tempNormals);
+                    model.addPolygon(triangle);
                 }
             }
 
             // Если не было ни одной грани (face), добавить просто вершины
             if (faceVertexIndices.isEmpty()) {
                 for (double[] pos : tempVertices) {
-                    model.addVertex(new Vertex(pos[0], pos[1], pos[2]));
+                    model.addVertex(pos[0], pos[1], pos[2], 0, 0, 0, 0, 1);
                 }
             }
 
@@ -125,4 +115,97 @@ public class ObjReader {
         }
         return model;
     }
+
+    /**
+     * Индекс вершины модели для угла грани (v, vt, vn); новая вершина создается
+     * только для тройки, которая еще не встречалась
+     */
+    private static int cornerVertex(Model model, CornerMap corners, int vi, int ti, int ni,
+                                    List<double[]> positions, List<double[]> texCoords, List<double[]> normals) {
+        // Несуществующие vt/vn равносильны отсутствующим
+        if (ti >= texCoords.size()) ti = -1;
+        if (ni >= normals.size()) ni = -1;
+        int existing = corners.get(vi, ti, ni);
+        if (existing >= 0) {
+            return existing;
+        }
+        double[] pos = vi >= 0 ? positions.get(vi) : new double[]{0, 0, 0};
+        double u = ti >= 0 ? texCoords.get(ti)[0] : 0.0;
+        double v = ti >= 0 ? texCoords.get(ti)[1] : 0.0;
+        double nx = ni >= 0 ? normals.get(ni)[0] : 0.0;
+        double ny = ni >= 0 ? normals.get(ni)[1] : 0.0;
+        double nz = ni >= 0 ? normals.get(ni)[2] : 1.0;
+        int index = model.addVertex(pos[0], pos[1], pos[2], u, v, nx, ny, nz);
+        corners.put(vi, ti, ni, index);
+        return index;
+    }
+
+    /**
+     * Хеш-таблица с открытой адресацией: тройка индексов (v, vt, vn) -> индекс вершины модели.
+     * Ключи и значения хранятся в int-массивах, без упаковки в объекты.
+     */
+    private static class CornerMap {
+        private int[] keys;
+        private int[] values;
+        private int size;
+        private int mask;
+
+        CornerMap(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1;
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            keys = new int[capacity * 3];
+            values = new int[capacity];
+            Arrays.fill(values, -1);
+            mask = capacity - 1;
+        }
+
+        private static int hash(int v, int t, int n) {
+            int h = v * 0x9E3779B1 + t * 0x85EBCA77 + n * 0xC2B2AE3D;
+            return h ^ (h >>> 15);
+        }
+
+        /** @return индекс вершины или -1, если тройки нет */
+        int get(int v, int t, int n) {
+            int slot = hash(v, t, n) & mask;
+            while (values[slot] >= 0) {
+                int k = slot * 3;
+                if (keys[k] == v && keys[k + 1] == t && keys[k + 2] == n) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        void put(int v, int t, int n, int value) {
+            if ((size + 1) * 2 > values.length) {
+                grow();
+            }
+            int slot = hash(v, t, n) & mask;
+            while (values[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            int k = slot * 3;
+            keys[k] = v;
+            keys[k + 1] = t;
+            keys[k + 2] = n;
+            values[slot] = value;
+            size++;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            allocate(oldValues.length * 2);
+            size = 0;
+            for (int slot = 0; slot < oldValues.length; slot++) {
+                if (oldValues[slot] >= 0) {
+                    put(oldKeys[slot * 3], oldKeys[slot * 3 + 1], oldKeys[slot * 3 + 2], oldValues[slot]);
+                }
+            }
+        }
+    }
 }
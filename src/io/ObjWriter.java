@@ -1,11 +1,8 @@
 package io;
 
 import model.Model;
-import model.Vertex;
-import model.Polygon;
 
 import java.io.*;
-import java.util.List;
 
 /**
  * Класс для записи 3D моделей в OBJ файлы
@@ -35,24 +32,24 @@ public class ObjWriter {
             writer.println();
 
             // Записываем вершины
-            List<Vertex> vertices = model.getVertices();
-            for (Vertex vertex : vertices) {
+            int vertexCount = model.getVertexCount();
+            for (int i = 0; i < vertexCount; i++) {
                 writer.printf("v %.6f %.6f %.6f%n", 
-                    vertex.getX(), 
-                    vertex.getY(), 
-                    vertex.getZ());
+                    model.getVertexX(i), 
+                    model.getVertexY(i), 
+                    model.getVertexZ(i));
             }
 
             writer.println();
 
 
-            List<Polygon> polygons = model.getPolygons();
-            for (Polygon polygon : polygons) {
+            int polygonCount = model.getPolygonCount();
+            for (int p = 0; p < polygonCount; p++) {
                 writer.print("f");
-                List<Integer> vertexIndices = polygon.getVertexIndices();
-                for (Integer index : vertexIndices) {
+                int size = model.getPolygonSize(p);
+                for (int corner = 0; corner < size; corner++) {
 
-                    writer.print(" " + (index + 1));
+                    writer.print(" " + (model.getIndex(p, corner) + 1));
                 }
                 writer.println();
             }
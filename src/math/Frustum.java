@@ -14,54 +14,54 @@ public class Frustum {
         }
     }
     
+    /**
+     * Строит пирамиду видимости камеры в мировых координатах.
+     * Нормали плоскостей направлены внутрь, так что для видимой точки distance() >= 0.
+     * @param fov вертикальный угол обзора в градусах
+     */
     public void updateFromCamera(Vector3f position, Vector3f forward, 
                                 Vector3f up, Vector3f right,
                                 float fov, float aspect, 
                                 float near, float far) {
-        float tanFov = (float)Math.tan(fov * 0.5f);
-        float nearHeight = 2.0f * tanFov * near;
-        float nearWidth = nearHeight * aspect;
+        float tanHalfHeight = (float)Math.tan(Math.toRadians(fov) * 0.5);
+        float tanHalfWidth = tanHalfHeight * aspect;
         
         Vector3f nearCenter = position.add(forward.mul(near));
         Vector3f farCenter = position.add(forward.mul(far));
         
-        planes[PlaneType.NEAR.ordinal()].set(
-            forward, 
-            forward.dot(nearCenter)
-        );
+        setPlane(PlaneType.NEAR, forward, nearCenter);
+        setPlane(PlaneType.FAR, forward.mul(-1), farCenter);
         
-        planes[PlaneType.FAR.ordinal()].set(
-            forward.mul(-1), 
-            -forward.dot(farCenter)
-        );
-        
-        Vector3f rightNormal = forward.cross(up).normalize();
-        Vector3f rightPoint = position.add(right.mul(nearWidth * 0.5f));
-        planes[PlaneType.RIGHT.ordinal()].set(
-            rightNormal,
-            rightNormal.dot(rightPoint)
-        );
-        
-        Vector3f leftNormal = up.cross(forward).normalize();
-        Vector3f leftPoint = position.add(right.mul(-nearWidth * 0.5f));
-        planes[PlaneType.LEFT.ordinal()].set(
-            leftNormal,
-            leftNormal.dot(leftPoint)
-        );
-
-        Vector3f topNormal = right.cross(forward).normalize();
-        Vector3f topPoint = position.add(up.mul(nearHeight * 0.5f));
-        planes[PlaneType.TOP.ordinal()].set(
-            topNormal,
-            topNormal.dot(topPoint)
-        );
-
-        Vector3f bottomNormal = forward.cross(right).normalize();
-        Vector3f bottomPoint = position.add(up.mul(-nearHeight * 0.5f));
-        planes[PlaneType.BOTTOM.ordinal()].set(
-            bottomNormal,
-            bottomNormal.dot(bottomPoint)
-        );
+        // Боковые плоскости проходят через позицию камеры и наклонены на половину угла обзора
+        setPlane(PlaneType.RIGHT, forward.mul(tanHalfWidth).sub(right), position);
+        setPlane(PlaneType.LEFT, forward.mul(tanHalfWidth).add(right), position);
+        setPlane(PlaneType.TOP, forward.mul(tanHalfHeight).sub(up), position);
+        setPlane(PlaneType.BOTTOM, forward.mul(tanHalfHeight).add(up), position);
+    }
+    
+    /**
+     * Строит пирамиду видимости в координатах камеры (камера в начале координат, взгляд вдоль +Z,
+     * X вправо, Y вверх). Границы задаются тангенсами углов, как в glFrustum при near = 1,
+     * поэтому пирамида может быть несимметричной.
+     */
+    public void updateFromBounds(float left, float right, float bottom, float top,
+                                 float near, float far) {
+        Vector3f origin = new Vector3f(0, 0, 0);
+        setPlane(PlaneType.NEAR, new Vector3f(0, 0, 1), new Vector3f(0, 0, near));
+        setPlane(PlaneType.FAR, new Vector3f(0, 0, -1), new Vector3f(0, 0, far));
+        setPlane(PlaneType.LEFT, new Vector3f(1, 0, -left), origin);
+        setPlane(PlaneType.RIGHT, new Vector3f(-1, 0, right), origin);
+        setPlane(PlaneType.BOTTOM, new Vector3f(0, 1, -bottom), origin);
+        setPlane(PlaneType.TOP, new Vector3f(0, -1, top), origin);
+    }
+    
+    private void setPlane(PlaneType type, Vector3f normal, Vector3f point) {
+        Vector3f n = normal.normalize();
+        planes[type.ordinal()].set(n, -n.dot(point));
+    }
+    
+    public Plane getPlane(PlaneType type) {
+        return planes[type.ordinal()];
     }
     
     public boolean containsPoint(Vector3f point) {
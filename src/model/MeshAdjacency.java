@@ -0,0 +1,198 @@
+package model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Смежность "вершина -> полигоны" в сжатом построчном виде (CSR): полигоны вершины v -
+ * faces[faceStarts[v]..faceStarts[v + 1]). Строится моделью лениво (Model.getAdjacency) за
+ * O(V + число углов) и действует, пока не изменится топология модели (Model.getTopologyVersion):
+ * после этого любой запрос бросает IllegalStateException, новую смежность дает Model.getAdjacency.
+ * Запросы обходят только окрестность вершин, а не все полигоны модели.
+ * Полигон, в котором вершина повторяется (вырожденный), входит в ее список несколько раз.
+ */
+public class MeshAdjacency {
+    private final Model model;
+    private final long version;
+    private final int[] faceStarts;
+    private final int[] faces;
+
+    MeshAdjacency(Model model, long version) {
+        this.model = model;
+        this.version = version;
+        int vertexCount = model.getVertexCount();
+        int polygonCount = model.getPolygonCount();
+
+        // Подсчет полигонов каждой вершины, затем префиксные суммы и заполнение
+        int[] starts = new int[vertexCount + 1];
+        for (int p = 0; p < polygonCount; p++) {
+            int size = model.getPolygonSize(p);
+            for (int c = 0; c < size; c++) {
+                int vertex = model.getIndex(p, c);
+                if (vertex >= 0 && vertex < vertexCount) {
+                    starts[vertex + 1]++;
+                }
+            }
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            starts[v + 1] += starts[v];
+        }
+        int[] list = new int[starts[vertexCount]];
+        int[] fill = Arrays.copyOf(starts, vertexCount);
+        for (int p = 0; p < polygonCount; p++) {
+            int size = model.getPolygonSize(p);
+            for (int c = 0; c < size; c++) {
+                int vertex = model.getIndex(p, c);
+                if (vertex >= 0 && vertex < vertexCount) {
+                    list[fill[vertex]++] = p;
+                }
+            }
+        }
+        this.faceStarts = starts;
+        this.faces = list;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    /** Число полигонов, использующих вершину */
+    public int getFaceCount(int vertex) {
+        checkCurrent();
+        return faceStarts[vertex + 1] - faceStarts[vertex];
+    }
+
+    /** k-й полигон вершины (в порядке возрастания индексов полигонов) */
+    public int getFace(int vertex, int k) {
+        checkCurrent();
+        return faces[faceStarts[vertex] + k];
+    }
+
+    /**
+     * Копирует полигоны вершины в dest с позиции offset
+     * @return число скопированных индексов
+     */
+    public int copyFaces(int vertex, int[] dest, int offset) {
+        checkCurrent();
+        int start = faceStarts[vertex];
+        int count = faceStarts[vertex + 1] - start;
+        System.arraycopy(faces, start, dest, offset, count);
+        return count;
+    }
+
+    /**
+     * Полигоны, использующие хотя бы одну из вершин набора
+     */
+    public BitSet facesOf(BitSet vertices) {
+        checkCurrent();
+        BitSet result = new BitSet(model.getPolygonCount());
+        for (int v = vertices.nextSetBit(0); v >= 0 && v < faceStarts.length - 1; v = vertices.nextSetBit(v + 1)) {
+            for (int k = faceStarts[v]; k < faceStarts[v + 1]; k++) {
+                result.set(faces[k]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Число полигонов, содержащих ребро (a, b) в любом направлении обхода
+     */
+    public int getEdgeFaceCount(int a, int b) {
+        checkCurrent();
+        int count = 0;
+        for (int k = faceStarts[a]; k < faceStarts[a + 1]; k++) {
+            int face = faces[k];
+            if ((k == faceStarts[a] || faces[k - 1] != face) && hasEdge(face, a, b)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Граничное ребро - ребро, принадлежащее ровно одному полигону
+     */
+    public boolean isBoundaryEdge(int a, int b) {
+        return getEdgeFaceCount(a, b) == 1;
+    }
+
+    /**
+     * Полигоны, имеющие с данным общее ребро (без повторов, по возрастанию индексов)
+     */
+    public int[] neighbourFaces(int polygon) {
+        checkCurrent();
+        int size = model.getPolygonSize(polygon);
+        int[] result = new int[8];
+        int count = 0;
+        for (int c = 0; c < size; c++) {
+            int a = model.getIndex(polygon, c);
+            int b = model.getIndex(polygon, (c + 1) % size);
+            if (a < 0 || a >= faceStarts.length - 1) {
+                continue;
+            }
+            for (int k = faceStarts[a]; k < faceStarts[a + 1]; k++) {
+                int face = faces[k];
+                if (face == polygon || contains(result, count, face) || !hasEdge(face, a, b)) {
+                    continue;
+                }
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, count * 2);
+                }
+                result[count++] = face;
+            }
+        }
+        result = Arrays.copyOf(result, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Расширение выделения на одно кольцо: вершины набора и все вершины их полигонов
+     */
+    public BitSet growSelection(BitSet vertices) {
+        checkCurrent();
+        BitSet result = (BitSet) vertices.clone();
+        for (int v = vertices.nextSetBit(0); v >= 0 && v < faceStarts.length - 1; v = vertices.nextSetBit(v + 1)) {
+            for (int k = faceStarts[v]; k < faceStarts[v + 1]; k++) {
+                int face = faces[k];
+                int size = model.getPolygonSize(face);
+                for (int c = 0; c < size; c++) {
+                    int vertex = model.getIndex(face, c);
+                    if (vertex >= 0) {
+                        result.set(vertex);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    // Смещения CSR соответствуют буферу индексов модели только для той топологии, по которой построены
+    private void checkCurrent() {
+        if (model.getTopologyVersion() != version) {
+            throw new IllegalStateException("Adjacency is out of date for model " + model.getName());
+        }
+    }
+
+    // Есть ли в полигоне ребро (a, b) в любом направлении обхода
+    private boolean hasEdge(int polygon, int a, int b) {
+        int size = model.getPolygonSize(polygon);
+        for (int c = 0; c < size; c++) {
+            int u = model.getIndex(polygon, c);
+            int w = model.getIndex(polygon, (c + 1) % size);
+            if ((u == a && w == b) || (u == b && w == a)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
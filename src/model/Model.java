@@ -1,34 +1,149 @@
 package model;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
- * Класс для представления 3D модели
+ * Класс для представления 3D модели.
+ * Сетка хранится индексированной, структурой массивов: позиции, нормали и UV вершин лежат
+ * подряд во float-массивах, индексы полигонов - в общем int-буфере. Массивы растут вдвое.
+ * Vertex и Polygon для добавленных в модель элементов - легкие представления строки массивов
+ * по номеру; после удаления вершин или полигонов номера сдвигаются, как в списке.
  */
 public class Model {
+    /**
+     * Отсечение нелицевых граней: какой обход треугольника на экране (как его видит пользователь)
+     * отбрасывается до растеризации
+     */
+    public enum CullMode {
+        NONE,
+        CW,
+        CCW
+    }
+
+    private static final int INITIAL_CAPACITY = 16;
+
     private String name;
-    private List<Vertex> vertices;
-    private List<Polygon> polygons;
-    // Текстура модели
+    // Вершины: позиция и нормаль - по 3 float, UV - 2 float на вершину
+    private float[] positions = new float[INITIAL_CAPACITY * 3];
+    private float[] vertexNormals = new float[INITIAL_CAPACITY * 3];
+    private float[] texCoords = new float[INITIAL_CAPACITY * 2];
+    private int vertexCount;
+    // Полигоны: индексы вершин полигона p - indices[polygonStarts[p]..polygonStarts[p + 1])
+    private int[] indices = new int[INITIAL_CAPACITY * 3];
+    private int[] polygonStarts = new int[INITIAL_CAPACITY + 1];
+    private int polygonCount;
+    // Индексы нормалей по углам полигонов (параллельно indices; null, пока ни один полигон их не задал)
+    private int[] cornerNormals;
+    // Неизменяемые представления для getVertices/getPolygons (отражают текущее состояние модели)
+    private final List<Vertex> vertexView = new VertexList();
+    private final List<Polygon> polygonView = new PolygonList();
+    // Текстура модели и ее упакованная копия для растеризатора
     private java.awt.image.BufferedImage texture;
+    private Texture textureData;
     // Нормали для вершин/глобально
-    private List<double[]> normals = new ArrayList<>(); // [nx, ny, nz]
+    private final List<double[]> normals = new ArrayList<>(); // [nx, ny, nz]
+    private final List<double[]> normalView = Collections.unmodifiableList(normals);
+    // Отсечение нелицевых граней (по умолчанию выключено, т.к. сетка может быть незамкнутой)
+    private CullMode cullMode = CullMode.NONE;
+    // Номер изменения положения вершин и кэш границ, посчитанный для этого номера
+    private volatile long geometryVersion;
+    private volatile Bounds bounds;
+    // Номер изменения топологии (состава вершин и полигонов) и кэш смежности для него
+    private volatile long topologyVersion;
+    private volatile MeshAdjacency adjacency;
+
+    /**
+     * Границы модели: AABB, ограничивающая сфера (с центром в центре AABB) и центроид вершин.
+     * Неизменяемы; при изменении вершин Model строит новый объект.
+     */
+    public static class Bounds {
+        public final int vertexCount;
+        public final double minX, minY, minZ;
+        public final double maxX, maxY, maxZ;
+        // Ограничивающая сфера
+        public final double centerX, centerY, centerZ;
+        public final double radius;
+        // Среднее положение вершин и расстояние от него до самой дальней вершины
+        public final double centroidX, centroidY, centroidZ;
+        public final double centroidRadius;
+        private final long version;
+
+        Bounds(long version, int vertexCount,
+               double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+               double radius, double centroidX, double centroidY, double centroidZ, double centroidRadius) {
+            this.version = version;
+            this.vertexCount = vertexCount;
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.maxZ = maxZ;
+            this.centerX = (minX + maxX) / 2;
+            this.centerY = (minY + maxY) / 2;
+            this.centerZ = (minZ + maxZ) / 2;
+            this.radius = radius;
+            this.centroidX = centroidX;
+            this.centroidY = centroidY;
+            this.centroidZ = centroidZ;
+            this.centroidRadius = centroidRadius;
+        }
+
+        public boolean isEmpty() {
+            return vertexCount == 0;
+        }
+    }
 
+    /**
+     * Задает текстуру; пиксели сразу преобразуются в упакованный массив (см. Texture)
+     */
     public void setTexture(java.awt.image.BufferedImage texture) {
+        setTexture(texture, Texture.Layout.ROW_MAJOR);
+    }
+
+    /**
+     * Задает текстуру с указанной раскладкой текселей (MORTON ускоряет выборку
+     * при обходе текстуры поперек строк, см. test.model.TextureBenchmark)
+     */
+    public void setTexture(java.awt.image.BufferedImage texture, Texture.Layout layout) {
         this.texture = texture;
+        this.textureData = texture != null ? new Texture(texture, layout) : null;
     }
 
     public java.awt.image.BufferedImage getTexture() {
         return texture;
     }
 
+    /**
+     * Текстура в виде, готовом для выборки при растеризации (null, если текстуры нет)
+     */
+    public Texture getTextureData() {
+        return textureData;
+    }
+
+    public CullMode getCullMode() {
+        return cullMode;
+    }
+
+    public void setCullMode(CullMode cullMode) {
+        this.cullMode = cullMode != null ? cullMode : CullMode.NONE;
+    }
+
     public void addNormal(double nx, double ny, double nz) {
         normals.add(new double[]{nx, ny, nz});
     }
 
+    /**
+     * Нормали модели (неизменяемое представление, без копирования)
+     */
     public List<double[]> getNormals() {
-        return new ArrayList<>(normals);
+        return normalView;
     }
 
     public double[] getNormal(int index) {
@@ -41,8 +156,6 @@ public class Model {
 
     public Model(String name) {
         this.name = name;
-        this.vertices = new ArrayList<>();
-        this.polygons = new ArrayList<>();
     }
 
     public String getName() {
@@ -53,83 +166,536 @@ public class Model {
         this.name = name;
     }
 
+    /**
+     * Вершины модели: неизменяемый список без копирования, отражает последующие изменения модели.
+     * Элементы - легкие представления (см. getVertex); в горячих циклах лучше getVertexX и т.п.
+     */
     public List<Vertex> getVertices() {
-        return new ArrayList<>(vertices);
+        return vertexView;
     }
 
+    /**
+     * Полигоны модели: неизменяемый список без копирования, отражает последующие изменения модели.
+     * В горячих циклах лучше getPolygonSize и getIndex.
+     */
     public List<Polygon> getPolygons() {
-        return new ArrayList<>(polygons);
+        return polygonView;
     }
 
+    private class VertexList extends AbstractList<Vertex> implements RandomAccess {
+        @Override
+        public Vertex get(int index) {
+            return getVertex(index);
+        }
+
+        @Override
+        public int size() {
+            return vertexCount;
+        }
+    }
+
+    private class PolygonList extends AbstractList<Polygon> implements RandomAccess {
+        @Override
+        public Polygon get(int index) {
+            return getPolygon(index);
+        }
+
+        @Override
+        public int size() {
+            return polygonCount;
+        }
+    }
+
+    /**
+     * Копирует вершину в массивы модели; сам объект после этого становится ее представлением
+     */
     public void addVertex(Vertex vertex) {
-        vertices.add(vertex);
+        int index = addVertex(vertex.getX(), vertex.getY(), vertex.getZ(), vertex.getU(), vertex.getV(),
+            vertex.getNx(), vertex.getNy(), vertex.getNz());
+        vertex.attach(this, index);
+    }
+
+    /**
+     * Добавляет вершину без создания объекта Vertex
+     * @return индекс новой вершины
+     */
+    public int addVertex(double x, double y, double z, double u, double v, double nx, double ny, double nz) {
+        ensureVertexCapacity(vertexCount + 1);
+        int i = vertexCount++;
+        positions[i * 3] = (float) x;
+        positions[i * 3 + 1] = (float) y;
+        positions[i * 3 + 2] = (float) z;
+        texCoords[i * 2] = (float) u;
+        texCoords[i * 2 + 1] = (float) v;
+        vertexNormals[i * 3] = (float) nx;
+        vertexNormals[i * 3 + 1] = (float) ny;
+        vertexNormals[i * 3 + 2] = (float) nz;
+        geometryChanged();
+        topologyVersion++;
+        return i;
     }
 
+    /**
+     * Копирует индексы полигона в буфер модели; объект после этого становится его представлением
+     */
     public void addPolygon(Polygon polygon) {
-        polygons.add(polygon);
+        int[] vertexIndices = polygon.toIndexArray();
+        int[] normalIndices = polygon.toNormalIndexArray();
+        int index = addPolygon(vertexIndices);
+        if (normalIndices.length > 0) {
+            if (cornerNormals == null) {
+                cornerNormals = new int[indices.length];
+                Arrays.fill(cornerNormals, -1);
+            }
+            int start = polygonStarts[index];
+            System.arraycopy(normalIndices, 0, cornerNormals, start, Math.min(normalIndices.length, vertexIndices.length));
+        }
+        polygon.attach(this, index);
+    }
+
+    /**
+     * Добавляет полигон по индексам вершин без создания объекта Polygon
+     * @return индекс нового полигона
+     */
+    public int addPolygon(int... vertexIndices) {
+        int start = polygonStarts[polygonCount];
+        ensurePolygonCapacity(polygonCount + 1, start + vertexIndices.length);
+        System.arraycopy(vertexIndices, 0, indices, start, vertexIndices.length);
+        if (cornerNormals != null) {
+            Arrays.fill(cornerNormals, start, start + vertexIndices.length, -1);
+        }
+        polygonStarts[polygonCount + 1] = start + vertexIndices.length;
+        topologyVersion++;
+        return polygonCount++;
+    }
+
+    private void ensureVertexCapacity(int vertices) {
+        int capacity = positions.length / 3;
+        if (vertices <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(vertices, capacity * 2);
+        positions = Arrays.copyOf(positions, newCapacity * 3);
+        vertexNormals = Arrays.copyOf(vertexNormals, newCapacity * 3);
+        texCoords = Arrays.copyOf(texCoords, newCapacity * 2);
+    }
+
+    private void ensurePolygonCapacity(int polygons, int corners) {
+        if (polygons + 1 > polygonStarts.length) {
+            polygonStarts = Arrays.copyOf(polygonStarts, Math.max(polygons + 1, polygonStarts.length * 2));
+        }
+        if (corners > indices.length) {
+            int newLength = Math.max(corners, indices.length * 2);
+            indices = Arrays.copyOf(indices, newLength);
+            if (cornerNormals != null) {
+                int oldLength = cornerNormals.length;
+                cornerNormals = Arrays.copyOf(cornerNormals, newLength);
+                Arrays.fill(cornerNormals, oldLength, newLength, -1);
+            }
+        }
     }
 
     public int getVertexCount() {
-        return vertices.size();
+        return vertexCount;
     }
 
     public int getPolygonCount() {
-        return polygons.size();
+        return polygonCount;
     }
 
+    /**
+     * Представление вершины по индексу (новый легкий объект при каждом вызове)
+     */
     public Vertex getVertex(int index) {
-        if (index < 0 || index >= vertices.size()) {
+        if (index < 0 || index >= vertexCount) {
             throw new IndexOutOfBoundsException("Vertex index out of bounds: " + index);
         }
-        return vertices.get(index);
+        return new Vertex(this, index);
     }
 
+    /**
+     * Представление полигона по индексу (новый легкий объект при каждом вызове)
+     */
     public Polygon getPolygon(int index) {
-        if (index < 0 || index >= polygons.size()) {
+        if (index < 0 || index >= polygonCount) {
             throw new IndexOutOfBoundsException("Polygon index out of bounds: " + index);
         }
-        return polygons.get(index);
+        return new Polygon(this, index);
+    }
+
+    // Доступ к массивам без объектов-представлений. Индексы не проверяются (кроме границ массивов).
+
+    public float getVertexX(int vertex) {
+        return positions[vertex * 3];
+    }
+
+    public float getVertexY(int vertex) {
+        return positions[vertex * 3 + 1];
+    }
+
+    public float getVertexZ(int vertex) {
+        return positions[vertex * 3 + 2];
+    }
+
+    public float getVertexNx(int vertex) {
+        return vertexNormals[vertex * 3];
+    }
+
+    public float getVertexNy(int vertex) {
+        return vertexNormals[vertex * 3 + 1];
+    }
+
+    public float getVertexNz(int vertex) {
+        return vertexNormals[vertex * 3 + 2];
+    }
+
+    public float getVertexU(int vertex) {
+        return texCoords[vertex * 2];
+    }
+
+    public float getVertexV(int vertex) {
+        return texCoords[vertex * 2 + 1];
+    }
+
+    public void setVertexPosition(int vertex, double x, double y, double z) {
+        positions[vertex * 3] = (float) x;
+        positions[vertex * 3 + 1] = (float) y;
+        positions[vertex * 3 + 2] = (float) z;
+        geometryChanged();
+    }
+
+    public void setVertexNormal(int vertex, double nx, double ny, double nz) {
+        vertexNormals[vertex * 3] = (float) nx;
+        vertexNormals[vertex * 3 + 1] = (float) ny;
+        vertexNormals[vertex * 3 + 2] = (float) nz;
+    }
+
+    public void setVertexUV(int vertex, double u, double v) {
+        texCoords[vertex * 2] = (float) u;
+        texCoords[vertex * 2 + 1] = (float) v;
+    }
+
+    /** Число вершин полигона */
+    public int getPolygonSize(int polygon) {
+        return polygonStarts[polygon + 1] - polygonStarts[polygon];
+    }
+
+    /** Индекс вершины в углу corner полигона */
+    public int getIndex(int polygon, int corner) {
+        return indices[polygonStarts[polygon] + corner];
+    }
+
+    /** Индекс первого угла полигона в буфере индексов (см. copyIndices) */
+    public int getPolygonStart(int polygon) {
+        return polygonStarts[polygon];
+    }
+
+    /** Общее число углов всех полигонов (длина буфера индексов) */
+    public int getIndexCount() {
+        return polygonStarts[polygonCount];
+    }
+
+    /**
+     * Копирует индексы вершин полигона в dest с позиции offset
+     * @return число скопированных индексов
+     */
+    public int copyPolygon(int polygon, int[] dest, int offset) {
+        int start = polygonStarts[polygon];
+        int size = polygonStarts[polygon + 1] - start;
+        System.arraycopy(indices, start, dest, offset, size);
+        return size;
+    }
+
+    /**
+     * Копирует буфер индексов всех полигонов (getIndexCount элементов) в dest с позиции offset;
+     * границы полигонов - getPolygonStart
+     */
+    public void copyIndices(int[] dest, int offset) {
+        System.arraycopy(indices, 0, dest, offset, polygonStarts[polygonCount]);
+    }
+
+    /** Копирует позиции всех вершин (x, y, z подряд) в dest с позиции offset */
+    public void copyPositions(float[] dest, int offset) {
+        System.arraycopy(positions, 0, dest, offset, vertexCount * 3);
+    }
+
+    /** Копирует нормали всех вершин (nx, ny, nz подряд) в dest с позиции offset */
+    public void copyNormals(float[] dest, int offset) {
+        System.arraycopy(vertexNormals, 0, dest, offset, vertexCount * 3);
+    }
+
+    /** Копирует UV всех вершин (u, v подряд) в dest с позиции offset */
+    public void copyTexCoords(float[] dest, int offset) {
+        System.arraycopy(texCoords, 0, dest, offset, vertexCount * 2);
+    }
+
+    /** Индекс нормали в углу corner полигона или -1, если не задан */
+    int getNormalIndex(int polygon, int corner) {
+        return cornerNormals != null ? cornerNormals[polygonStarts[polygon] + corner] : -1;
     }
 
     /**
-     * Удаляет вершину по индексу и обновляет индексы в полигонах
+     * Удаляет вершину по индексу вместе с полигонами, которые ее используют,
+     * и сдвигает индексы остальных полигонов (см. removeVertices)
      */
     public void removeVertex(int index) {
-        if (index < 0 || index >= vertices.size()) {
+        if (index < 0 || index >= vertexCount) {
             throw new IndexOutOfBoundsException("Vertex index out of bounds: " + index);
         }
+        BitSet removed = new BitSet(index + 1);
+        removed.set(index);
+        removeVertices(removed);
+    }
 
-        List<Polygon> polygonsToRemove = new ArrayList<>();
-        for (Polygon polygon : polygons) {
-            if (polygon.containsVertex(index)) {
-                polygonsToRemove.add(polygon);
-            }
+    /**
+     * Пакетное удаление вершин, отмеченных в removed, вместе с полигонами, которые их используют.
+     * Вершины уплотняются по одной таблице переназначения, индексы полигонов переписываются
+     * за один проход: O(V + число углов) независимо от количества удаляемых вершин.
+     * @return число удаленных вершин
+     */
+    public int removeVertices(BitSet removed) {
+        if (removed.length() > vertexCount) {
+            throw new IndexOutOfBoundsException("Vertex index out of bounds: " + (removed.length() - 1));
+        }
+        int removedCount = removed.cardinality();
+        if (removedCount == 0) {
+            return 0;
         }
-        polygons.removeAll(polygonsToRemove);
 
-        vertices.remove(index);
+        // Таблица переназначения: новый индекс вершины или -1 для удаленной
+        int count = vertexCount;
+        int[] remap = new int[count];
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (removed.get(i)) {
+                remap[i] = -1;
+                continue;
+            }
+            if (kept != i) {
+                System.arraycopy(positions, i * 3, positions, kept * 3, 3);
+                System.arraycopy(vertexNormals, i * 3, vertexNormals, kept * 3, 3);
+                System.arraycopy(texCoords, i * 2, texCoords, kept * 2, 2);
+            }
+            remap[i] = kept++;
+        }
 
-        for (Polygon polygon : polygons) {
-            polygon.updateIndicesAfterVertexRemoval(index);
+        // Полигоны с удаленной вершиной выбрасываются, у остальных индексы переписываются.
+        // Если смежность уже построена, выбрасываемые полигоны берутся из нее (только окрестность удаленных)
+        MeshAdjacency current = currentAdjacency();
+        BitSet dropped = current != null ? current.facesOf(removed) : null;
+        int write = 0;
+        int keptPolygons = 0;
+        for (int p = 0; p < polygonCount; p++) {
+            int start = polygonStarts[p], end = polygonStarts[p + 1];
+            boolean uses = dropped != null && dropped.get(p);
+            for (int k = start; k < end && dropped == null; k++) {
+                int vertex = indices[k];
+                if (vertex >= 0 && vertex < count && remap[vertex] < 0) {
+                    uses = true;
+                    break;
+                }
+            }
+            if (uses) {
+                continue;
+            }
+            polygonStarts[keptPolygons] = write;
+            for (int k = start; k < end; k++) {
+                int vertex = indices[k];
+                if (cornerNormals != null) {
+                    cornerNormals[write] = cornerNormals[k];
+                }
+                // Некорректные индексы за пределами вершин сдвигаются, как и раньше
+                indices[write++] = vertex < 0 ? vertex : vertex >= count ? vertex - removedCount : remap[vertex];
+            }
+            keptPolygons++;
         }
+        polygonStarts[keptPolygons] = write;
+        polygonCount = keptPolygons;
+        vertexCount = kept;
+        geometryChanged();
+        topologyVersion++;
+        return removedCount;
     }
 
     /**
      * Удаляет полигон по индексу
      */
     public void removePolygon(int index) {
-        if (index < 0 || index >= polygons.size()) {
+        if (index < 0 || index >= polygonCount) {
             throw new IndexOutOfBoundsException("Polygon index out of bounds: " + index);
         }
-        polygons.remove(index);
+        BitSet removed = new BitSet(index + 1);
+        removed.set(index);
+        removePolygons(removed);
+    }
+
+    /**
+     * Пакетное удаление полигонов, отмеченных в removed, за один проход по буферу индексов
+     * @return число удаленных полигонов
+     */
+    public int removePolygons(BitSet removed) {
+        if (removed.length() > polygonCount) {
+            throw new IndexOutOfBoundsException("Polygon index out of bounds: " + (removed.length() - 1));
+        }
+        int removedCount = removed.cardinality();
+        if (removedCount == 0) {
+            return 0;
+        }
+        int write = 0;
+        int kept = 0;
+        for (int p = 0; p < polygonCount; p++) {
+            int start = polygonStarts[p], end = polygonStarts[p + 1];
+            if (removed.get(p)) {
+                continue;
+            }
+            polygonStarts[kept++] = write;
+            System.arraycopy(indices, start, indices, write, end - start);
+            if (cornerNormals != null) {
+                System.arraycopy(cornerNormals, start, cornerNormals, write, end - start);
+            }
+            write += end - start;
+        }
+        polygonStarts[kept] = write;
+        polygonCount = kept;
+        topologyVersion++;
+        return removedCount;
+    }
+
+    /**
+     * Смежность "вершина -> полигоны"; строится при первом запросе после изменения состава
+     * вершин или полигонов, иначе возвращается тот же объект. Перемещение вершин ее не сбрасывает.
+     */
+    public MeshAdjacency getAdjacency() {
+        MeshAdjacency cached = currentAdjacency();
+        if (cached == null) {
+            cached = new MeshAdjacency(this, topologyVersion);
+            adjacency = cached;
+        }
+        return cached;
+    }
+
+    // Кэш смежности, если он соответствует текущей топологии, иначе null (без построения)
+    private MeshAdjacency currentAdjacency() {
+        MeshAdjacency cached = adjacency;
+        return cached != null && cached.getVersion() == topologyVersion ? cached : null;
+    }
+
+    /**
+     * Пересчитывает нормали вершин набора как нормированную сумму нормалей их полигонов
+     * (по методу Ньюэлла, с весом по площади). Обходит только полигоны этих вершин,
+     * поэтому после локальной правки достаточно передать затронутые вершины.
+     */
+    public void recomputeNormals(BitSet vertices) {
+        if (vertices.length() > vertexCount) {
+            throw new IndexOutOfBoundsException("Vertex index out of bounds: " + (vertices.length() - 1));
+        }
+        MeshAdjacency adjacency = getAdjacency();
+        for (int v = vertices.nextSetBit(0); v >= 0; v = vertices.nextSetBit(v + 1)) {
+            double nx = 0, ny = 0, nz = 0;
+            int faceCount = adjacency.getFaceCount(v);
+            for (int k = 0; k < faceCount; k++) {
+                int face = adjacency.getFace(v, k);
+                if (k > 0 && adjacency.getFace(v, k - 1) == face) {
+                    continue;
+                }
+                int start = polygonStarts[face], end = polygonStarts[face + 1];
+                for (int c = start; c < end; c++) {
+                    int a = indices[c], b = indices[c + 1 < end ? c + 1 : start];
+                    if (a < 0 || a >= vertexCount || b < 0 || b >= vertexCount) {
+                        continue;
+                    }
+                    double ay = positions[a * 3 + 1], az = positions[a * 3 + 2], ax = positions[a * 3];
+                    double by = positions[b * 3 + 1], bz = positions[b * 3 + 2], bx = positions[b * 3];
+                    nx += (ay - by) * (az + bz);
+                    ny += (az - bz) * (ax + bx);
+                    nz += (ax - bx) * (ay + by);
+                }
+            }
+            double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+            if (length > 1e-12) {
+                vertexNormals[v * 3] = (float) (nx / length);
+                vertexNormals[v * 3 + 1] = (float) (ny / length);
+                vertexNormals[v * 3 + 2] = (float) (nz / length);
+            }
+        }
+    }
+
+    /**
+     * Помечает кэш границ устаревшим; вызывается при добавлении, удалении и перемещении вершин
+     */
+    private void geometryChanged() {
+        geometryVersion++;
+    }
+
+    /**
+     * Номер изменения положения вершин: меняется при каждом addVertex, removeVertex и setX/setY/setZ
+     */
+    public long getGeometryVersion() {
+        return geometryVersion;
+    }
+
+    /**
+     * Номер изменения топологии: меняется при каждом добавлении и удалении вершин или полигонов
+     * (перемещение вершин его не меняет)
+     */
+    public long getTopologyVersion() {
+        return topologyVersion;
+    }
+
+    /**
+     * Границы модели; пересчитываются только после изменения вершин, иначе возвращается
+     * тот же объект (его можно сравнивать по ссылке)
+     */
+    public Bounds getBounds() {
+        Bounds cached = bounds;
+        long version = geometryVersion;
+        if (cached == null || cached.version != version) {
+            cached = computeBounds(version);
+            bounds = cached;
+        }
+        return cached;
+    }
+
+    private Bounds computeBounds(long version) {
+        int count = vertexCount;
+        if (count == 0) {
+            return new Bounds(version, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+        double sumX = 0, sumY = 0, sumZ = 0;
+        float[] p = positions;
+        for (int i = 0; i < count * 3; i += 3) {
+            double x = p[i], y = p[i + 1], z = p[i + 2];
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            minZ = Math.min(minZ, z);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+            maxZ = Math.max(maxZ, z);
+            sumX += x;
+            sumY += y;
+            sumZ += z;
+        }
+        double cx = (minX + maxX) / 2, cy = (minY + maxY) / 2, cz = (minZ + maxZ) / 2;
+        double mx = sumX / count, my = sumY / count, mz = sumZ / count;
+        double radiusSq = 0, centroidRadiusSq = 0;
+        for (int i = 0; i < count * 3; i += 3) {
+            double x = p[i], y = p[i + 1], z = p[i + 2];
+            radiusSq = Math.max(radiusSq, (x - cx) * (x - cx) + (y - cy) * (y - cy) + (z - cz) * (z - cz));
+            centroidRadiusSq = Math.max(centroidRadiusSq,
+                (x - mx) * (x - mx) + (y - my) * (y - my) + (z - mz) * (z - mz));
+        }
+        return new Bounds(version, count, minX, minY, minZ, maxX, maxY, maxZ,
+            Math.sqrt(radiusSq), mx, my, mz, Math.sqrt(centroidRadiusSq));
     }
 
     @Override
     public String toString() {
         return "Model{" +
                 "name='" + name + '\'' +
-                ", vertices=" + vertices.size() +
-                ", polygons=" + polygons.size() +
+                ", vertices=" + vertexCount +
+                ", polygons=" + polygonCount +
                 '}';
     }
 }
@@ -1,80 +1,211 @@
 package model;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
- * Класс для представления полигона (многоугольника) 3D модели
+ * Класс для представления полигона (многоугольника) 3D модели.
+ * До Model.addPolygon индексы хранятся в самом объекте; после - объект является
+ * представлением полигона в буфере индексов модели (см. Model).
  */
 public class Polygon {
-    private List<Integer> vertexIndices;
+    // Модель и индекс полигона в ней (model == null - отдельный полигон)
+    private Model model;
+    private int index;
+    private int[] vertexIndices;
+    private int vertexCount;
     // Индексы нормалей для вершин (если нужны для Gouraud/Phong shading)
-    private List<Integer> normalIndices;
+    private int[] normalIndices;
+    private int normalCount;
 
     public Polygon() {
-        this.vertexIndices = new ArrayList<>();
-        this.normalIndices = new ArrayList<>();
+        this.vertexIndices = new int[4];
+        this.normalIndices = new int[0];
     }
 
     public Polygon(List<Integer> vertexIndices) {
-        this.vertexIndices = new ArrayList<>(vertexIndices);
-        this.normalIndices = new ArrayList<>();
+        this.vertexIndices = toArray(vertexIndices);
+        this.vertexCount = this.vertexIndices.length;
+        this.normalIndices = new int[0];
     }
 
     public Polygon(List<Integer> vertexIndices, List<Integer> normalIndices) {
-        this.vertexIndices = new ArrayList<>(vertexIndices);
-        this.normalIndices = new ArrayList<>(normalIndices);
+        this.vertexIndices = toArray(vertexIndices);
+        this.vertexCount = this.vertexIndices.length;
+        this.normalIndices = toArray(normalIndices);
+        this.normalCount = this.normalIndices.length;
     }
 
+    /**
+     * Представление полигона index модели
+     */
+    Polygon(Model model, int index) {
+        attach(model, index);
+    }
+
+    void attach(Model model, int index) {
+        this.model = model;
+        this.index = index;
+        this.vertexIndices = null;
+        this.normalIndices = null;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Неизменяемое представление индексов полигона без копирования
+     */
+    private class IndexList extends AbstractList<Integer> implements RandomAccess {
+        private final boolean normals;
+
+        IndexList(boolean normals) {
+            this.normals = normals;
+        }
+
+        @Override
+        public Integer get(int corner) {
+            if (corner < 0 || corner >= size()) {
+                throw new IndexOutOfBoundsException("Corner index out of bounds: " + corner);
+            }
+            return normals ? getNormalIndex(corner) : getIndex(corner);
+        }
+
+        @Override
+        public int size() {
+            return normals ? getNormalCount() : getVertexCount();
+        }
+    }
+
+    /** Индексы вершин (копия) */
+    int[] toIndexArray() {
+        int[] result = new int[getVertexCount()];
+        copyIndices(result, 0);
+        return result;
+    }
+
+    /** Индексы нормалей (копия; пустая, если не заданы) */
+    int[] toNormalIndexArray() {
+        int[] result = new int[getNormalCount()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = getNormalIndex(i);
+        }
+        return result;
+    }
+
+    /**
+     * Индексы вершин: неизменяемое представление без копирования (для полигона модели
+     * отражает ее буфер индексов); для выборки по одному - getIndex
+     */
     public List<Integer> getVertexIndices() {
-        return new ArrayList<>(vertexIndices);
+        return new IndexList(false);
     }
 
+    /**
+     * Индексы нормалей: неизменяемое представление без копирования
+     */
     public List<Integer> getNormalIndices() {
-        return new ArrayList<>(normalIndices);
+        return new IndexList(true);
+    }
+
+    /** Индекс вершины в углу corner */
+    public int getIndex(int corner) {
+        return model != null ? model.getIndex(index, corner) : vertexIndices[corner];
+    }
+
+    /** Индекс нормали в углу corner или -1, если не задан */
+    public int getNormalIndex(int corner) {
+        return model != null ? model.getNormalIndex(index, corner) : normalIndices[corner];
+    }
+
+    /**
+     * Копирует индексы вершин в dest с позиции offset
+     * @return число скопированных индексов
+     */
+    public int copyIndices(int[] dest, int offset) {
+        if (model != null) {
+            return model.copyPolygon(index, dest, offset);
+        }
+        System.arraycopy(vertexIndices, 0, dest, offset, vertexCount);
+        return vertexCount;
     }
 
     public void addNormalIndex(int index) {
-        normalIndices.add(index);
+        checkDetached();
+        if (normalCount == normalIndices.length) {
+            normalIndices = Arrays.copyOf(normalIndices, Math.max(4, normalCount * 2));
+        }
+        normalIndices[normalCount++] = index;
     }
 
     public void addVertexIndex(int index) {
-        vertexIndices.add(index);
+        checkDetached();
+        if (vertexCount == vertexIndices.length) {
+            vertexIndices = Arrays.copyOf(vertexIndices, Math.max(4, vertexCount * 2));
+        }
+        vertexIndices[vertexCount++] = index;
+    }
+
+    // Размер полигона в модели задан буфером индексов, поэтому менять его можно только до добавления
+    private void checkDetached() {
+        if (model != null) {
+            throw new IllegalStateException("Polygon is already part of model " + model.getName());
+        }
     }
 
     public int getVertexCount() {
-        return vertexIndices.size();
+        return model != null ? model.getPolygonSize(index) : vertexCount;
     }
 
     public int getNormalCount() {
-        return normalIndices.size();
+        if (model == null) {
+            return normalCount;
+        }
+        int size = model.getPolygonSize(index);
+        return size > 0 && model.getNormalIndex(index, 0) >= 0 ? size : 0;
     }
 
     public boolean containsVertex(int vertexIndex) {
-        return vertexIndices.contains(vertexIndex);
+        int size = getVertexCount();
+        for (int i = 0; i < size; i++) {
+            if (getIndex(i) == vertexIndex) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
      * Обновляет индексы вершин: уменьшает индексы больше удаленного на 1
+     * (для полигона, еще не добавленного в модель; Model.removeVertex обновляет свой буфер сам)
      */
     public void updateIndicesAfterVertexRemoval(int removedIndex) {
-        List<Integer> newIndices = new ArrayList<>();
-        for (Integer idx : vertexIndices) {
+        checkDetached();
+        int write = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            int idx = vertexIndices[i];
             if (idx > removedIndex) {
-                newIndices.add(idx - 1);
+                vertexIndices[write++] = idx - 1;
             } else if (idx < removedIndex) {
-                newIndices.add(idx);
+                vertexIndices[write++] = idx;
             }
-
         }
-        this.vertexIndices = newIndices;
+        vertexCount = write;
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("f");
-        for (Integer index : vertexIndices) {
-            sb.append(" ").append(index + 1);
+        int size = getVertexCount();
+        for (int i = 0; i < size; i++) {
+            sb.append(" ").append(getIndex(i) + 1);
         }
         return sb.toString();
     }
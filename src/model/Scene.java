@@ -1,6 +1,7 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.HashSet;
 import java.util.Set;
@@ -12,15 +13,38 @@ public class Scene {
     private List<Model> models;
     private Set<Integer> selectedModelIndices;
     private int activeModelIndex;
+    // Неизменяемые представления для getModels и getSelectedModelIndices
+    private final List<Model> modelView;
+    private final Set<Integer> selectionView;
+    // Общие границы сцены вместе с границами моделей, из которых они собраны (публикуются целиком)
+    private volatile BoundsCache boundsCache;
+
+    /**
+     * Неизменяемая пара "границы моделей - собранные из них границы сцены"
+     */
+    private static class BoundsCache {
+        final Model.Bounds[] parts;
+        final Model.Bounds bounds;
+
+        BoundsCache(Model.Bounds[] parts, Model.Bounds bounds) {
+            this.parts = parts;
+            this.bounds = bounds;
+        }
+    }
 
     public Scene() {
         this.models = new ArrayList<>();
         this.selectedModelIndices = new HashSet<>();
         this.activeModelIndex = -1;
+        this.modelView = Collections.unmodifiableList(models);
+        this.selectionView = Collections.unmodifiableSet(selectedModelIndices);
     }
 
+    /**
+     * Модели сцены: неизменяемый список без копирования, отражает последующие добавления и удаления
+     */
     public List<Model> getModels() {
-        return new ArrayList<>(models);
+        return modelView;
     }
 
     public void addModel(Model model) {
@@ -47,7 +71,8 @@ public class Scene {
                 newSelected.add(idx - 1);
             }
         }
-        selectedModelIndices = newSelected;
+        selectedModelIndices.clear();
+        selectedModelIndices.addAll(newSelected);
         
 
         if (activeModelIndex == index) {
@@ -94,8 +119,11 @@ public class Scene {
         selectedModelIndices.clear();
     }
 
+    /**
+     * Индексы выбранных моделей (неизменяемое представление без копирования)
+     */
     public Set<Integer> getSelectedModelIndices() {
-        return new HashSet<>(selectedModelIndices);
+        return selectionView;
     }
 
     public int getActiveModelIndex() {
@@ -119,6 +147,78 @@ public class Scene {
         }
     }
 
+    /**
+     * Общие границы всех моделей сцены. Проверка актуальности стоит O(число моделей):
+     * границы моделей кэшируются в самих моделях и сравниваются по ссылке.
+     * Центроид взвешен числом вершин моделей; радиусы сфер - оценка сверху.
+     * Список моделей читается без синхронизации: вызывать под блокировкой сцены
+     * (ModelRenderer.getSceneLock) или из единственного потока, который ее меняет. Сам кэш
+     * публикуется целиком через volatile-поле, так что одновременные вызовы под блокировкой
+     * и из потока-владельца его не портят.
+     */
+    public Model.Bounds getBounds() {
+        BoundsCache cache = boundsCache;
+        int count = models.size();
+        boolean valid = cache != null && cache.parts.length == count;
+        // Новый массив заводится только при первом расхождении с кэшем
+        Model.Bounds[] parts = valid ? null : new Model.Bounds[count];
+        for (int i = 0; i < count; i++) {
+            Model.Bounds part = models.get(i).getBounds();
+            if (parts == null && cache.parts[i] != part) {
+                parts = new Model.Bounds[count];
+                System.arraycopy(cache.parts, 0, parts, 0, i);
+            }
+            if (parts != null) {
+                parts[i] = part;
+            }
+        }
+        if (parts == null) {
+            return cache.bounds;
+        }
+        cache = new BoundsCache(parts, mergeBounds(parts));
+        boundsCache = cache;
+        return cache.bounds;
+    }
+
+    private static Model.Bounds mergeBounds(Model.Bounds[] parts) {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+        double sumX = 0, sumY = 0, sumZ = 0;
+        int vertexCount = 0;
+        for (Model.Bounds part : parts) {
+            if (part.isEmpty()) continue;
+            minX = Math.min(minX, part.minX);
+            minY = Math.min(minY, part.minY);
+            minZ = Math.min(minZ, part.minZ);
+            maxX = Math.max(maxX, part.maxX);
+            maxY = Math.max(maxY, part.maxY);
+            maxZ = Math.max(maxZ, part.maxZ);
+            sumX += part.centroidX * part.vertexCount;
+            sumY += part.centroidY * part.vertexCount;
+            sumZ += part.centroidZ * part.vertexCount;
+            vertexCount += part.vertexCount;
+        }
+        if (vertexCount == 0) {
+            return new Model.Bounds(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        double cx = (minX + maxX) / 2, cy = (minY + maxY) / 2, cz = (minZ + maxZ) / 2;
+        double mx = sumX / vertexCount, my = sumY / vertexCount, mz = sumZ / vertexCount;
+        double radius = 0, centroidRadius = 0;
+        for (Model.Bounds part : parts) {
+            if (part.isEmpty()) continue;
+            radius = Math.max(radius, distance(cx, cy, cz, part.centerX, part.centerY, part.centerZ) + part.radius);
+            centroidRadius = Math.max(centroidRadius,
+                distance(mx, my, mz, part.centroidX, part.centroidY, part.centroidZ) + part.centroidRadius);
+        }
+        return new Model.Bounds(0, vertexCount, minX, minY, minZ, maxX, maxY, maxZ,
+            radius, mx, my, mz, centroidRadius);
+    }
+
+    private static double distance(double x0, double y0, double z0, double x1, double y1, double z1) {
+        double dx = x1 - x0, dy = y1 - y0, dz = z1 - z0;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
     public boolean hasActiveModel() {
         return activeModelIndex >= 0 && activeModelIndex < models.size();
     }
@@ -0,0 +1,323 @@
+package model;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Текстура, один раз преобразованная из BufferedImage в массив упакованных ARGB-пикселей.
+ * При создании строится пирамида mip-уровней (каждый следующий вдвое меньше, усреднение 2x2),
+ * из которой растеризатор выбирает уровень по производным UV треугольника.
+ * Выборка не обращается к BufferedImage и не создает объектов; для размеров,
+ * равных степени двойки, повторение UV считается битовой маской.
+ * Тексели хранятся построчно или в порядке Z-кривой (Morton), см. Layout.
+ */
+public class Texture {
+    /**
+     * Порядок текселей в массивах уровней
+     */
+    public enum Layout {
+        // Построчно: соседние по вертикали тексели отстоят на ширину строки
+        ROW_MAJOR,
+        // Z-кривая: биты x и y чередуются, соседи по обеим осям обычно в одной кэш-линии.
+        // Только для размеров - степеней двойки, иначе используется ROW_MAJOR
+        MORTON
+    }
+
+    /**
+     * Фильтрация при выборке
+     */
+    public enum Filter {
+        // Ближайший тексель базового уровня (без mip-уровней)
+        NEAREST,
+        // Билинейная выборка из ближайшего mip-уровня
+        BILINEAR,
+        // Билинейная выборка из двух соседних mip-уровней со смешиванием
+        TRILINEAR
+    }
+
+    private final int width;
+    private final int height;
+    private final int[] pixels;
+    // Маски для повторения при размерах - степенях двойки
+    private final int widthMask;
+    private final int heightMask;
+    private final boolean powerOfTwo;
+    private final Layout layout;
+
+    // Mip-уровни; уровень 0 - исходное изображение (тот же массив, что pixels)
+    private final int[][] levels;
+    private final int[] levelWidths;
+    private final int[] levelHeights;
+    // Для MORTON: вклад координат x и y в индекс текселя по уровням (индекс = mortonX[x] | mortonY[y])
+    private final int[][] mortonX;
+    private final int[][] mortonY;
+
+    public Texture(BufferedImage image) {
+        this(image, Layout.ROW_MAJOR);
+    }
+
+    public Texture(BufferedImage image, Layout layout) {
+        this.width = image.getWidth();
+        this.height = image.getHeight();
+        this.pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        this.powerOfTwo = isPowerOfTwo(width) && isPowerOfTwo(height);
+        this.widthMask = width - 1;
+        this.heightMask = height - 1;
+
+        int count = 1;
+        for (int w = width, h = height; w > 1 || h > 1; w = Math.max(1, w >> 1), h = Math.max(1, h >> 1)) {
+            count++;
+        }
+        levels = new int[count][];
+        levelWidths = new int[count];
+        levelHeights = new int[count];
+        levels[0] = pixels;
+        levelWidths[0] = width;
+        levelHeights[0] = height;
+        for (int level = 1; level < count; level++) {
+            buildLevel(level);
+        }
+
+        this.layout = powerOfTwo ? layout : Layout.ROW_MAJOR;
+        if (this.layout == Layout.MORTON) {
+            mortonX = new int[count][];
+            mortonY = new int[count][];
+            for (int level = 0; level < count; level++) {
+                swizzleLevel(level);
+            }
+        } else {
+            mortonX = null;
+            mortonY = null;
+        }
+    }
+
+    private static boolean isPowerOfTwo(int n) {
+        return n > 0 && (n & (n - 1)) == 0;
+    }
+
+    // Уровень level из предыдущего усреднением блоков 2x2 (у нечетного края блок обрезается)
+    private void buildLevel(int level) {
+        int[] src = levels[level - 1];
+        int srcWidth = levelWidths[level - 1];
+        int srcHeight = levelHeights[level - 1];
+        int w = Math.max(1, srcWidth >> 1);
+        int h = Math.max(1, srcHeight >> 1);
+        int[] dst = new int[w * h];
+        for (int y = 0; y < h; y++) {
+            int row0 = Math.min(y * 2, srcHeight - 1) * srcWidth;
+            int row1 = Math.min(y * 2 + 1, srcHeight - 1) * srcWidth;
+            for (int x = 0; x < w; x++) {
+                int x0 = Math.min(x * 2, srcWidth - 1);
+                int x1 = Math.min(x * 2 + 1, srcWidth - 1);
+                int p00 = src[row0 + x0], p10 = src[row0 + x1];
+                int p01 = src[row1 + x0], p11 = src[row1 + x1];
+                int a = ((p00 >>> 24) + (p10 >>> 24) + (p01 >>> 24) + (p11 >>> 24) + 2) >> 2;
+                int r = (((p00 >> 16) & 0xFF) + ((p10 >> 16) & 0xFF) + ((p01 >> 16) & 0xFF) + ((p11 >> 16) & 0xFF) + 2) >> 2;
+                int g = (((p00 >> 8) & 0xFF) + ((p10 >> 8) & 0xFF) + ((p01 >> 8) & 0xFF) + ((p11 >> 8) & 0xFF) + 2) >> 2;
+                int b = ((p00 & 0xFF) + (p10 & 0xFF) + (p01 & 0xFF) + (p11 & 0xFF) + 2) >> 2;
+                dst[y * w + x] = (a << 24) | (r << 16) | (g << 8) | b;
+            }
+        }
+        levels[level] = dst;
+        levelWidths[level] = w;
+        levelHeights[level] = h;
+    }
+
+    /**
+     * Переставляет тексели уровня в порядок Z-кривой. Для прямоугольного уровня 2^a x 2^b
+     * чередуются младшие min(a, b) бит координат, оставшиеся старшие биты длинной стороны идут следом.
+     */
+    private void swizzleLevel(int level) {
+        int w = levelWidths[level];
+        int h = levelHeights[level];
+        int bitsX = Integer.numberOfTrailingZeros(w);
+        int bitsY = Integer.numberOfTrailingZeros(h);
+        int common = Math.min(bitsX, bitsY);
+        int[] mx = new int[w];
+        int[] my = new int[h];
+        for (int x = 0; x < w; x++) {
+            mx[x] = spreadBits(x, bitsX, common, 0);
+        }
+        for (int y = 0; y < h; y++) {
+            my[y] = spreadBits(y, bitsY, common, 1);
+        }
+        int[] src = levels[level];
+        int[] dst = new int[src.length];
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                dst[mx[x] | my[y]] = src[y * w + x];
+            }
+        }
+        if (level == 0) {
+            System.arraycopy(dst, 0, pixels, 0, dst.length);
+            dst = pixels;
+        }
+        levels[level] = dst;
+        mortonX[level] = mx;
+        mortonY[level] = my;
+    }
+
+    // Младшие common бит value ставятся через один начиная с shift, остальные - подряд после 2 * common
+    private static int spreadBits(int value, int bits, int common, int shift) {
+        int result = 0;
+        for (int i = 0; i < bits; i++) {
+            int bit = (value >> i) & 1;
+            result |= i < common ? bit << (2 * i + shift) : bit << (common + i);
+        }
+        return result;
+    }
+
+    /**
+     * Выборка ближайшего текселя базового уровня по UV с повторением (v направлена вверх)
+     * @return упакованный ARGB
+     */
+    public int sample(float u, float v) {
+        float tu = u * width;
+        float tv = (1.0f - v) * height;
+        // Быстрый floor для чисел любого знака
+        int x = (int) tu;
+        if (tu < x) x--;
+        int y = (int) tv;
+        if (tv < y) y--;
+        if (mortonX != null) {
+            return pixels[mortonX[0][x & widthMask] | mortonY[0][y & heightMask]];
+        }
+        if (powerOfTwo) {
+            return pixels[(y & heightMask) * width + (x & widthMask)];
+        }
+        x %= width;
+        if (x < 0) x += width;
+        y %= height;
+        if (y < 0) y += height;
+        return pixels[y * width + x];
+    }
+
+    /**
+     * Выборка с фильтрацией
+     * @param lod уровень детализации: log2 числа текселей базового уровня на пиксель экрана
+     * @return упакованный ARGB
+     */
+    public int sample(float u, float v, float lod, Filter filter) {
+        if (filter == Filter.NEAREST) {
+            return sample(u, v);
+        }
+        int last = levels.length - 1;
+        if (!(lod > 0)) {
+            // Увеличение (и NaN): базовый уровень
+            return sampleBilinear(u, v, 0);
+        }
+        if (lod >= last) {
+            return sampleBilinear(u, v, last);
+        }
+        if (filter == Filter.BILINEAR) {
+            return sampleBilinear(u, v, (int) (lod + 0.5f));
+        }
+        int level = (int) lod;
+        int blend = (int) ((lod - level) * 256);
+        int near = sampleBilinear(u, v, level);
+        return blend == 0 ? near : lerp(near, sampleBilinear(u, v, level + 1), blend);
+    }
+
+    /**
+     * Билинейная выборка из уровня level с повторением
+     */
+    public int sampleBilinear(float u, float v, int level) {
+        int w = levelWidths[level];
+        int h = levelHeights[level];
+        int[] data = levels[level];
+        // Центры текселей находятся в точках (i + 0.5) / size
+        float tu = u * w - 0.5f;
+        float tv = (1.0f - v) * h - 0.5f;
+        int x0 = (int) tu;
+        if (tu < x0) x0--;
+        int y0 = (int) tv;
+        if (tv < y0) y0--;
+        int fx = (int) ((tu - x0) * 256);
+        int fy = (int) ((tv - y0) * 256);
+        int x1, y1;
+        if (powerOfTwo) {
+            x1 = (x0 + 1) & (w - 1);
+            x0 &= w - 1;
+            y1 = (y0 + 1) & (h - 1);
+            y0 &= h - 1;
+        } else {
+            x0 %= w;
+            if (x0 < 0) x0 += w;
+            x1 = x0 + 1 == w ? 0 : x0 + 1;
+            y0 %= h;
+            if (y0 < 0) y0 += h;
+            y1 = y0 + 1 == h ? 0 : y0 + 1;
+        }
+        // Смещения столбцов и строк в массиве уровня; биты x и y в индексе Morton не пересекаются
+        if (mortonX != null) {
+            int[] mx = mortonX[level];
+            int[] my = mortonY[level];
+            x0 = mx[x0];
+            x1 = mx[x1];
+            y0 = my[y0];
+            y1 = my[y1];
+        } else {
+            y0 *= w;
+            y1 *= w;
+        }
+        int top = lerp(data[y0 + x0], data[y0 + x1], fx);
+        int bottom = lerp(data[y1 + x0], data[y1 + x1], fx);
+        return lerp(top, bottom, fy);
+    }
+
+    // Линейная интерполяция упакованных ARGB с весом t из [0, 256]; по два канала за умножение
+    private static int lerp(int a, int b, int t) {
+        int s = 256 - t;
+        int rb = (((a & 0xFF00FF) * s + (b & 0xFF00FF) * t) >>> 8) & 0xFF00FF;
+        int ag = (((a >>> 8) & 0xFF00FF) * s + ((b >>> 8) & 0xFF00FF) * t) & 0xFF00FF00;
+        return ag | rb;
+    }
+
+    /**
+     * Тексель (x, y) уровня level независимо от раскладки
+     */
+    public int getRGB(int x, int y, int level) {
+        if (mortonX != null) {
+            return levels[level][mortonX[level][x] | mortonY[level][y]];
+        }
+        return levels[level][y * levelWidths[level] + x];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Тексели базового уровня в порядке раскладки getLayout()
+     */
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    public boolean isPowerOfTwo() {
+        return powerOfTwo;
+    }
+
+    public Layout getLayout() {
+        return layout;
+    }
+
+    public int getLevelCount() {
+        return levels.length;
+    }
+
+    public int getLevelWidth(int level) {
+        return levelWidths[level];
+    }
+
+    public int getLevelHeight(int level) {
+        return levelHeights[level];
+    }
+
+    public int[] getLevelPixels(int level) {
+        return levels[level];
+    }
+}
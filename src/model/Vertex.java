@@ -1,9 +1,14 @@
 package model;
 
 /**
- * Класс для представления вершины 3D модели
+ * Класс для представления вершины 3D модели.
+ * Пока вершина не добавлена в модель, значения хранятся в самом объекте; после Model.addVertex
+ * объект становится представлением строки массивов модели (см. Model) и читает/пишет их.
  */
 public class Vertex {
+    // Модель и индекс вершины в ней (model == null - отдельная вершина)
+    private Model model;
+    private int index;
     private double x;
     private double y;
     private double z;
@@ -39,81 +44,117 @@ public class Vertex {
         this.ny = ny;
         this.nz = nz;
     }
+
+    /**
+     * Представление вершины index модели
+     */
+    Vertex(Model model, int index) {
+        attach(model, index);
+    }
+
+    void attach(Model model, int index) {
+        this.model = model;
+        this.index = index;
+    }
+
     public double getU() {
-        return u;
+        return model != null ? model.getVertexU(index) : u;
     }
 
     public double getV() {
-        return v;
+        return model != null ? model.getVertexV(index) : v;
     }
 
     public void setU(double u) {
-        this.u = u;
+        if (model != null) {
+            model.setVertexUV(index, u, getV());
+        } else {
+            this.u = u;
+        }
     }
 
     public void setV(double v) {
-        this.v = v;
+        if (model != null) {
+            model.setVertexUV(index, getU(), v);
+        } else {
+            this.v = v;
+        }
     }
 
     public double getNx() {
-        return nx;
+        return model != null ? model.getVertexNx(index) : nx;
     }
 
     public double getNy() {
-        return ny;
+        return model != null ? model.getVertexNy(index) : ny;
     }
 
     public double getNz() {
-        return nz;
+        return model != null ? model.getVertexNz(index) : nz;
     }
 
     public void setNormal(double nx, double ny, double nz) {
-        this.nx = nx;
-        this.ny = ny;
-        this.nz = nz;
+        if (model != null) {
+            model.setVertexNormal(index, nx, ny, nz);
+        } else {
+            this.nx = nx;
+            this.ny = ny;
+            this.nz = nz;
+        }
     }
 
     public double getX() {
-        return x;
+        return model != null ? model.getVertexX(index) : x;
     }
 
     public double getY() {
-        return y;
+        return model != null ? model.getVertexY(index) : y;
     }
 
     public double getZ() {
-        return z;
+        return model != null ? model.getVertexZ(index) : z;
     }
 
     public void setX(double x) {
-        this.x = x;
+        if (model != null) {
+            model.setVertexPosition(index, x, getY(), getZ());
+        } else {
+            this.x = x;
+        }
     }
 
     public void setY(double y) {
-        this.y = y;
+        if (model != null) {
+            model.setVertexPosition(index, getX(), y, getZ());
+        } else {
+            this.y = y;
+        }
     }
 
     public void setZ(double z) {
-        this.z = z;
+        if (model != null) {
+            model.setVertexPosition(index, getX(), getY(), z);
+        } else {
+            this.z = z;
+        }
     }
-    
+
     // Вычисление длины нормали
     public double normalLength() {
+        double nx = getNx(), ny = getNy(), nz = getNz();
         return Math.sqrt(nx * nx + ny * ny + nz * nz);
     }
     // Нормализация нормали
     public void normalizeNormal() {
         double len = normalLength();
         if (len > 1e-8) {
-            nx /= len;
-            ny /= len;
-            nz /= len;
+            setNormal(getNx() / len, getNy() / len, getNz() / len);
         }
     }
 
     @Override
     public String toString() {
-        return String.format("v %.6f %.6f %.6f vt %.6f %.6f", x, y, z, u, v);
+        return String.format("v %.6f %.6f %.6f vt %.6f %.6f", getX(), getY(), getZ(), getU(), getV());
     }
 
     @Override
@@ -121,18 +162,18 @@ public class Vertex {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         Vertex vertex = (Vertex) obj;
-        return Double.compare(vertex.x, x) == 0 &&
-               Double.compare(vertex.y, y) == 0 &&
-               Double.compare(vertex.z, z) == 0;
+        return Double.compare(vertex.getX(), getX()) == 0 &&
+               Double.compare(vertex.getY(), getY()) == 0 &&
+               Double.compare(vertex.getZ(), getZ()) == 0;
     }
 
     @Override
     public int hashCode() {
-        long temp = Double.doubleToLongBits(x);
+        long temp = Double.doubleToLongBits(getX());
         int result = (int) (temp ^ (temp >>> 32));
-        temp = Double.doubleToLongBits(y);
+        temp = Double.doubleToLongBits(getY());
         result = 31 * result + (int) (temp ^ (temp >>> 32));
-        temp = Double.doubleToLongBits(z);
+        temp = Double.doubleToLongBits(getZ());
         result = 31 * result + (int) (temp ^ (temp >>> 32));
         return result;
     }
@@ -0,0 +1,96 @@
+package render;
+
+import java.util.Arrays;
+
+/**
+ * Буфер глубины программного растеризатора.
+ * Соглашение о глубине задается форматом и функцией сравнения из DepthPrecisionManager:
+ * REVERSE_FLOAT32/GREATER - ближние фрагменты имеют большую глубину, буфер очищается нулем;
+ * STANDARD_FLOAT32/LESS - ближние фрагменты имеют меньшую глубину, буфер очищается максимумом.
+ */
+public class DepthBuffer {
+    public static final String REVERSE_FORMAT = "REVERSE_FLOAT32";
+    public static final String STANDARD_FORMAT = "STANDARD_FLOAT32";
+    public static final String COMPARE_GREATER = "GREATER";
+    public static final String COMPARE_LESS = "LESS";
+
+    private float[] depth;
+    private int width;
+    private int height;
+    private boolean reverseZ = true;
+
+    public boolean resize(int width, int height) {
+        width = Math.max(1, width);
+        height = Math.max(1, height);
+        if (depth != null && this.width == width && this.height == height) {
+            return false;
+        }
+        this.width = width;
+        this.height = height;
+        this.depth = new float[width * height];
+        return true;
+    }
+
+    /**
+     * Устанавливает соглашение о глубине по значениям zBufferFormat и depthCompareFunc
+     */
+    public void setConvention(String zBufferFormat, String depthCompareFunc) {
+        if (depthCompareFunc != null) {
+            reverseZ = COMPARE_GREATER.equals(depthCompareFunc);
+        } else {
+            reverseZ = zBufferFormat != null && zBufferFormat.contains("REVERSE");
+        }
+    }
+
+    public boolean isReverseZ() {
+        return reverseZ;
+    }
+
+    public void clear() {
+        Arrays.fill(depth, reverseZ ? 0.0f : Float.MAX_VALUE);
+    }
+
+    /**
+     * Переводит расстояние w от камеры в значение глубины (бесконечная дальняя плоскость).
+     * Результат линеен в экранном пространстве, поэтому его можно интерполировать барицентрически.
+     */
+    public float depthFromW(double w, double near) {
+        double invW = near / w;
+        return (float) (reverseZ ? invW : 1.0 - invW);
+    }
+
+    /**
+     * Проверяет фрагмент и при успехе записывает его глубину
+     * @return true, если фрагмент ближе уже записанного
+     */
+    public boolean testAndSet(int index, float z) {
+        if (reverseZ ? z > depth[index] : z < depth[index]) {
+            depth[index] = z;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Проверяет фрагмент без записи глубины, с допуском: фрагмент проходит, если он не дальше
+     * записанного более чем на долю bias (в единицах 1/w). Нужен для линий поверх граней.
+     */
+    public boolean testBiased(int index, float z, float bias) {
+        if (reverseZ) {
+            return z >= depth[index] * (1 - bias);
+        }
+        return 1 - z >= (1 - depth[index]) * (1 - bias);
+    }
+
+    public float[] getDepth() {
+        return depth;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
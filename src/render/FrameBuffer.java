@@ -0,0 +1,53 @@
+package render;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * Программный буфер кадра: BufferedImage типа TYPE_INT_RGB,
+ * в чей массив пикселей растеризатор пишет напрямую
+ */
+public class FrameBuffer {
+    private BufferedImage image;
+    private int[] pixels;
+    private int width;
+    private int height;
+
+    /**
+     * Пересоздает буфер, только если размер действительно изменился
+     * @return true, если буфер был пересоздан
+     */
+    public boolean resize(int width, int height) {
+        width = Math.max(1, width);
+        height = Math.max(1, height);
+        if (image != null && this.width == width && this.height == height) {
+            return false;
+        }
+        this.width = width;
+        this.height = height;
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        return true;
+    }
+
+    public void clear(int rgb) {
+        Arrays.fill(pixels, rgb);
+    }
+
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,67 @@
+package render;
+
+import java.util.Arrays;
+
+/**
+ * Спроецированные отрезки кадра (каркас) в виде плоских массивов.
+ * Заполняется на этапе сборки кадра, растеризуется после треугольников.
+ */
+public class LineBatch {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Концы отрезков: экранные координаты и значение глубины
+    float[] x0, y0, z0, x1, y1, z1;
+    int[] color;
+    int count;
+
+    public LineBatch() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private void allocate(int lines) {
+        x0 = new float[lines];
+        y0 = new float[lines];
+        z0 = new float[lines];
+        x1 = new float[lines];
+        y1 = new float[lines];
+        z1 = new float[lines];
+        color = new int[lines];
+    }
+
+    private void ensureCapacity(int lines) {
+        if (lines <= color.length) {
+            return;
+        }
+        int newCapacity = Math.max(lines, color.length * 2);
+        x0 = Arrays.copyOf(x0, newCapacity);
+        y0 = Arrays.copyOf(y0, newCapacity);
+        z0 = Arrays.copyOf(z0, newCapacity);
+        x1 = Arrays.copyOf(x1, newCapacity);
+        y1 = Arrays.copyOf(y1, newCapacity);
+        z1 = Arrays.copyOf(z1, newCapacity);
+        color = Arrays.copyOf(color, newCapacity);
+    }
+
+    /**
+     * Очищает пакет, сохраняя выделенные массивы для следующего кадра
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    public void add(float sx0, float sy0, float depth0, float sx1, float sy1, float depth1, int rgb) {
+        ensureCapacity(count + 1);
+        x0[count] = sx0;
+        y0[count] = sy0;
+        z0[count] = depth0;
+        x1[count] = sx1;
+        y1[count] = sy1;
+        z1[count] = depth1;
+        color[count] = rgb;
+        count++;
+    }
+
+    public int size() {
+        return count;
+    }
+}
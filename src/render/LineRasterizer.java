@@ -0,0 +1,115 @@
+package render;
+
+/**
+ * Растеризация отрезков каркаса целочисленным алгоритмом Брезенхема прямо в массив пикселей.
+ * Отрезок сначала обрезается по экрану (Лян-Барски), поэтому алгоритм обходит только видимые пиксели.
+ * С тестом глубины линии, закрытые закрашенными гранями, не рисуются (удаление невидимых линий).
+ */
+public class LineRasterizer {
+    /**
+     * Допуск теста глубины (доля от 1/w): ребро лежит на грани, закрашенной в буфер глубины,
+     * и без допуска проигрывало бы ей из-за округления
+     */
+    public static final float DEPTH_BIAS = 0.002f;
+
+    private int[] pixels;
+    private int width;
+    private int height;
+    private DepthBuffer depthBuffer;
+
+    // Концы текущего отрезка после обрезки и видимая часть параметра t в [0, 1]
+    private float cx0, cy0, cz0, cx1, cy1, cz1;
+    private float tMin, tMax;
+
+    /**
+     * Рисует все отрезки пакета
+     * @param depthBuffer буфер глубины для теста или null, если линии рисуются поверх всего
+     */
+    public void render(LineBatch batch, FrameBuffer frameBuffer, DepthBuffer depthBuffer) {
+        this.pixels = frameBuffer.getPixels();
+        this.width = frameBuffer.getWidth();
+        this.height = frameBuffer.getHeight();
+        this.depthBuffer = depthBuffer;
+        try {
+            for (int i = 0; i < batch.count; i++) {
+                if (clip(batch.x0[i], batch.y0[i], batch.z0[i], batch.x1[i], batch.y1[i], batch.z1[i])) {
+                    drawLine(batch.color[i] & 0xFFFFFF);
+                }
+            }
+        } finally {
+            this.pixels = null;
+            this.depthBuffer = null;
+        }
+    }
+
+    /**
+     * Обрезка отрезка по прямоугольнику [0, width - 1] x [0, height - 1] (Лян-Барски)
+     * @return false, если отрезок целиком вне экрана
+     */
+    private boolean clip(float x0, float y0, float z0, float x1, float y1, float z1) {
+        if (!(Float.isFinite(x0) && Float.isFinite(y0) && Float.isFinite(x1) && Float.isFinite(y1))) {
+            return false;
+        }
+        float dx = x1 - x0, dy = y1 - y0;
+        tMin = 0;
+        tMax = 1;
+        if (!clipEdge(-dx, x0) || !clipEdge(dx, width - 1 - x0)
+            || !clipEdge(-dy, y0) || !clipEdge(dy, height - 1 - y0)) {
+            return false;
+        }
+        float dz = z1 - z0;
+        cx0 = x0 + dx * tMin;
+        cy0 = y0 + dy * tMin;
+        cz0 = z0 + dz * tMin;
+        cx1 = x0 + dx * tMax;
+        cy1 = y0 + dy * tMax;
+        cz1 = z0 + dz * tMax;
+        return true;
+    }
+
+    // Условие p * t <= q для одной стороны прямоугольника; сужает [tMin, tMax]
+    private boolean clipEdge(float p, float q) {
+        if (p == 0) {
+            return q >= 0;
+        }
+        float t = q / p;
+        if (p < 0) {
+            if (t > tMax) return false;
+            if (t > tMin) tMin = t;
+        } else {
+            if (t < tMin) return false;
+            if (t < tMax) tMax = t;
+        }
+        return true;
+    }
+
+    private void drawLine(int color) {
+        int x = Math.round(cx0), y = Math.round(cy0);
+        int xEnd = Math.round(cx1), yEnd = Math.round(cy1);
+        int dx = Math.abs(xEnd - x), dy = -Math.abs(yEnd - y);
+        int sx = x < xEnd ? 1 : -1, sy = y < yEnd ? 1 : -1;
+        int steps = Math.max(dx, -dy);
+        float z = cz0;
+        float dz = steps > 0 ? (cz1 - cz0) / steps : 0;
+        int err = dx + dy;
+        while (true) {
+            int index = y * width + x;
+            if (depthBuffer == null || depthBuffer.testBiased(index, z, DEPTH_BIAS)) {
+                pixels[index] = color;
+            }
+            if (x == xEnd && y == yEnd) {
+                break;
+            }
+            int e2 = 2 * err;
+            if (e2 >= dy) {
+                err += dy;
+                x += sx;
+            }
+            if (e2 <= dx) {
+                err += dx;
+                y += sy;
+            }
+            z += dz;
+        }
+    }
+}
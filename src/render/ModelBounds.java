@@ -0,0 +1,39 @@
+package render;
+
+import math.Vector3f;
+import model.Model;
+
+/**
+ * Ограничивающая сфера модели для отсечения по пирамиде видимости.
+ * Берется из кэша границ модели (Model.getBounds), который пересчитывается
+ * только после изменения вершин; здесь хранится лишь копия во float.
+ */
+public class ModelBounds {
+    private final Vector3f center = new Vector3f();
+    private float radius;
+    private Model.Bounds source;
+
+    /**
+     * Обновляет сферу, если границы модели изменились с момента последнего вызова
+     */
+    public void update(Model model) {
+        Model.Bounds bounds = model.getBounds();
+        if (bounds == source) {
+            return;
+        }
+        source = bounds;
+        center.x = (float) bounds.centerX;
+        center.y = (float) bounds.centerY;
+        center.z = (float) bounds.centerZ;
+        // Небольшой запас на округление float
+        radius = bounds.isEmpty() ? 0 : (float) (bounds.radius * 1.0001 + 1e-6);
+    }
+
+    public Vector3f getCenter() {
+        return center;
+    }
+
+    public float getRadius() {
+        return radius;
+    }
+}
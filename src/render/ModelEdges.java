@@ -0,0 +1,111 @@
+package render;
+
+import model.Model;
+
+import java.util.Arrays;
+
+/**
+ * Список уникальных ребер модели для каркасного рендеринга: общее ребро двух полигонов
+ * хранится один раз. Пересчитывается только при изменении топологии модели
+ * (Model.getTopologyVersion).
+ */
+public class ModelEdges {
+    // Пары индексов вершин: ребро k - (edges[2k], edges[2k + 1])
+    private int[] allEdges = new int[0];
+    private int allCount;
+    // Ребра только не-треугольных полигонов (контуры, которые не закрашиваются)
+    private int[] outlineEdges = new int[0];
+    private int outlineCount;
+    private long topologyVersion = -1;
+
+    /**
+     * Обновляет списки ребер, если модель изменилась с момента последнего расчета
+     */
+    public void update(Model model) {
+        long version = model.getTopologyVersion();
+        if (version == topologyVersion) {
+            return;
+        }
+        topologyVersion = version;
+
+        int vertexCount = model.getVertexCount();
+        int polygonCount = model.getPolygonCount();
+        int total = 0, outline = 0;
+        for (int p = 0; p < polygonCount; p++) {
+            int size = model.getPolygonSize(p);
+            int n = edgeCount(size);
+            total += n;
+            if (size != 3) {
+                outline += n;
+            }
+        }
+        long[] all = new long[total];
+        long[] outlines = new long[outline];
+        total = 0;
+        outline = 0;
+        for (int p = 0; p < polygonCount; p++) {
+            int size = model.getPolygonSize(p);
+            int n = edgeCount(size);
+            for (int i = 0; i < n; i++) {
+                int a = model.getIndex(p, i);
+                int b = model.getIndex(p, (i + 1) % size);
+                if (a < 0 || b < 0 || a >= vertexCount || b >= vertexCount || a == b) {
+                    continue;
+                }
+                long key = key(a, b);
+                all[total++] = key;
+                if (size != 3) {
+                    outlines[outline++] = key;
+                }
+            }
+        }
+        allEdges = unique(all, total);
+        allCount = allEdges.length / 2;
+        outlineEdges = unique(outlines, outline);
+        outlineCount = outlineEdges.length / 2;
+    }
+
+    // Полигон из 2 вершин - один отрезок, из n >= 3 - замкнутый контур из n ребер
+    private static int edgeCount(int vertices) {
+        return vertices == 2 ? 1 : vertices >= 3 ? vertices : 0;
+    }
+
+    // Ключ ребра не зависит от направления обхода
+    private static long key(int a, int b) {
+        return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    }
+
+    // Сортировка ключей и удаление повторов; результат - пары индексов
+    private static int[] unique(long[] keys, int count) {
+        Arrays.sort(keys, 0, count);
+        int[] edges = new int[count * 2];
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && keys[i] == keys[i - 1]) {
+                continue;
+            }
+            edges[unique * 2] = (int) (keys[i] >>> 32);
+            edges[unique * 2 + 1] = (int) keys[i];
+            unique++;
+        }
+        return Arrays.copyOf(edges, unique * 2);
+    }
+
+    /** Все ребра модели парами индексов вершин */
+    public int[] getEdges() {
+        return allEdges;
+    }
+
+    public int getEdgeCount() {
+        return allCount;
+    }
+
+    /** Ребра не-треугольных полигонов парами индексов вершин */
+    public int[] getOutlineEdges() {
+        return outlineEdges;
+    }
+
+    public int getOutlineEdgeCount() {
+        return outlineCount;
+    }
+}
@@ -0,0 +1,90 @@
+package render;
+
+import math.Vector3f;
+import model.Model;
+import model.Scene;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Рендеринг сцены в изображение без окна (работает с java.awt.headless=true).
+ * Экземпляр не потокобезопасен; для параллельного рендеринга нужен свой экземпляр на поток.
+ */
+public class OffscreenRenderer {
+    private final SceneRenderer sceneRenderer;
+    private final FrameBuffer frameBuffer = new FrameBuffer();
+    private int background = 0xFFFFFF;
+
+    public OffscreenRenderer() {
+        this.sceneRenderer = new SceneRenderer();
+    }
+
+    /**
+     * @param pool пул для растеризации тайлов кадра
+     */
+    public OffscreenRenderer(ForkJoinPool pool) {
+        this.sceneRenderer = new SceneRenderer(pool);
+    }
+
+    public void setBackground(int rgb) {
+        this.background = rgb;
+    }
+
+    public void setShowVertices(boolean showVertices) {
+        sceneRenderer.setShowVertices(showVertices);
+    }
+
+    /**
+     * Рендерит сцену камерой camera и возвращает новое изображение width x height (TYPE_INT_RGB)
+     */
+    public BufferedImage render(Scene scene, ViewCamera camera, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid image size: " + width + "x" + height);
+        }
+        // Масштаб вписывания считается заново для каждой сцены
+        sceneRenderer.resetView();
+        sceneRenderer.render(scene, camera, frameBuffer, width, height, background);
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        System.arraycopy(frameBuffer.getPixels(), 0, pixels, 0, pixels.length);
+        return image;
+    }
+
+    /**
+     * Камера, с которой просмотрщик показывает только что загруженную сцену:
+     * смотрит на центр активной (или первой) модели с расстояния 2.5 радиуса сцены
+     */
+    public static ViewCamera fitCamera(Scene scene) {
+        ViewCamera camera = new ViewCamera();
+        List<Model> models = scene.getModels();
+        if (models.isEmpty()) {
+            return camera;
+        }
+
+        float maxRadius = 0;
+        for (Model model : models) {
+            maxRadius = Math.max(maxRadius, radius(model, center(model)));
+        }
+        Model targetModel = scene.hasActiveModel() ? scene.getActiveModel() : models.get(0);
+        camera.target = center(targetModel);
+        camera.distance = Math.min(Math.max(maxRadius * 2.5f, 5.0f), 50.0f);
+        return camera;
+    }
+
+    private static Vector3f center(Model model) {
+        // Центроид вершин кэшируется моделью
+        Model.Bounds bounds = model.getBounds();
+        return new Vector3f((float) bounds.centroidX, (float) bounds.centroidY, (float) bounds.centroidZ);
+    }
+
+    private static float radius(Model model, Vector3f center) {
+        Model.Bounds bounds = model.getBounds();
+        double dx = bounds.centroidX - center.x, dy = bounds.centroidY - center.y, dz = bounds.centroidZ - center.z;
+        // Минимальный радиус 1.0, как в просмотрщике
+        return Math.max((float) (bounds.centroidRadius + Math.sqrt(dx * dx + dy * dy + dz * dz)), 1.0f);
+    }
+}
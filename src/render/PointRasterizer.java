@@ -0,0 +1,153 @@
+package render;
+
+import java.util.Arrays;
+
+/**
+ * Вывод вершин точками: заранее рассчитанный спрайт круга (с покрытием для сглаживания края)
+ * штампуется прямо в массив пикселей. Вершины, закрытые гранями, отбрасываются тестом глубины.
+ * Если вершин модели на экране больше, чем по одной на ячейку CELL_SIZE x CELL_SIZE,
+ * в каждой ячейке рисуется только первая попавшая в нее вершина.
+ */
+public class PointRasterizer {
+    /** Радиус точки в пикселях (как у прежнего fillOval 6x6) */
+    public static final int SPRITE_RADIUS = 3;
+    /**
+     * Размер ячейки экрана для прореживания плотных вершин. Диагональ ячейки меньше радиуса точки,
+     * поэтому точка представителя накрывает все вершины своей ячейки
+     */
+    public static final int CELL_SIZE = 2;
+    // Сглаживание края спрайта: число подвыборок на пиксель по каждой оси
+    private static final int SUBSAMPLES = 4;
+
+    // Пиксели спрайта: смещения от центра и покрытие 1..255
+    private static final int[] SPRITE_X;
+    private static final int[] SPRITE_Y;
+    private static final int[] SPRITE_ALPHA;
+
+    static {
+        int size = SPRITE_RADIUS * 2;
+        int[] xs = new int[size * size], ys = new int[size * size], alphas = new int[size * size];
+        int count = 0;
+        double radiusSq = (double) SPRITE_RADIUS * SPRITE_RADIUS;
+        for (int dy = -SPRITE_RADIUS; dy < SPRITE_RADIUS; dy++) {
+            for (int dx = -SPRITE_RADIUS; dx < SPRITE_RADIUS; dx++) {
+                // Пиксель (dx, dy) занимает квадрат [dx, dx + 1] x [dy, dy + 1], центр круга в (0, 0)
+                int inside = 0;
+                for (int sy = 0; sy < SUBSAMPLES; sy++) {
+                    for (int sx = 0; sx < SUBSAMPLES; sx++) {
+                        double px = dx + (sx + 0.5) / SUBSAMPLES;
+                        double py = dy + (sy + 0.5) / SUBSAMPLES;
+                        if (px * px + py * py <= radiusSq) inside++;
+                    }
+                }
+                if (inside > 0) {
+                    xs[count] = dx;
+                    ys[count] = dy;
+                    alphas[count] = inside * 255 / (SUBSAMPLES * SUBSAMPLES);
+                    count++;
+                }
+            }
+        }
+        SPRITE_X = Arrays.copyOf(xs, count);
+        SPRITE_Y = Arrays.copyOf(ys, count);
+        SPRITE_ALPHA = Arrays.copyOf(alphas, count);
+    }
+
+    // Номер вызова, в котором ячейка последний раз получила точку (обнуление не требуется)
+    private int[] cellStamp = new int[0];
+    private int stamp;
+    private int cellsX;
+
+    /**
+     * Рисует вершины модели точками цвета rgb
+     * @param depthBuffer буфер глубины кадра или null, если вершины не скрываются гранями
+     * @return число вершин в пределах экрана (до теста глубины и прореживания)
+     */
+    public int render(TransformedVertices vertices, FrameBuffer frameBuffer, DepthBuffer depthBuffer, int rgb) {
+        int[] pixels = frameBuffer.getPixels();
+        int width = frameBuffer.getWidth();
+        int height = frameBuffer.getHeight();
+        float[] screenX = vertices.getScreenX();
+        float[] screenY = vertices.getScreenY();
+        float[] depth = vertices.getDepth();
+        int[] clipCodes = vertices.getClipCodes();
+        int count = vertices.size();
+
+        // Первый проход: сколько вершин на экране и какую площадь они занимают
+        int onScreen = 0;
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            if (!isOnScreen(clipCodes[i], screenX[i], screenY[i], width, height)) continue;
+            int x = (int) screenX[i], y = (int) screenY[i];
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+            onScreen++;
+        }
+        if (onScreen == 0) {
+            return 0;
+        }
+        long cells = (long) ((maxX - minX) / CELL_SIZE + 1) * ((maxY - minY) / CELL_SIZE + 1);
+        boolean subsample = onScreen > cells;
+        if (subsample) {
+            beginCells(width, height);
+        }
+
+        int r = (rgb >> 16) & 0xFF, g = (rgb >> 8) & 0xFF, b = rgb & 0xFF;
+        for (int i = 0; i < count; i++) {
+            if (!isOnScreen(clipCodes[i], screenX[i], screenY[i], width, height)) continue;
+            int x = (int) screenX[i], y = (int) screenY[i];
+            boolean centerOnScreen = x >= 0 && x < width && y >= 0 && y < height;
+            // Сначала тест глубины: ячейку занимает только видимая вершина, иначе закрытая
+            // вершина с меньшим индексом скрыла бы видимые в той же ячейке
+            if (depthBuffer != null && centerOnScreen
+                && !depthBuffer.testBiased(y * width + x, depth[i], LineRasterizer.DEPTH_BIAS)) {
+                continue;
+            }
+            if (subsample && centerOnScreen) {
+                int cell = (y / CELL_SIZE) * cellsX + x / CELL_SIZE;
+                if (cellStamp[cell] == stamp) continue;
+                cellStamp[cell] = stamp;
+            }
+            stamp(pixels, width, height, x, y, r, g, b);
+        }
+        return onScreen;
+    }
+
+    private static boolean isOnScreen(int clipCode, float sx, float sy, int width, int height) {
+        // Вершина за ближней плоскостью спроецирована некорректно
+        return (clipCode & TriangleClipper.NEAR_MASK) == 0
+            && sx >= -SPRITE_RADIUS && sx < width + SPRITE_RADIUS
+            && sy >= -SPRITE_RADIUS && sy < height + SPRITE_RADIUS;
+    }
+
+    private void beginCells(int width, int height) {
+        cellsX = (width + CELL_SIZE - 1) / CELL_SIZE;
+        int cellCount = cellsX * ((height + CELL_SIZE - 1) / CELL_SIZE);
+        if (cellStamp.length < cellCount) {
+            cellStamp = new int[cellCount];
+            stamp = 0;
+        }
+        stamp++;
+    }
+
+    private static void stamp(int[] pixels, int width, int height, int x, int y, int r, int g, int b) {
+        for (int k = 0; k < SPRITE_X.length; k++) {
+            int px = x + SPRITE_X[k], py = y + SPRITE_Y[k];
+            if (px < 0 || px >= width || py < 0 || py >= height) continue;
+            int index = py * width + px;
+            int a = SPRITE_ALPHA[k];
+            if (a == 255) {
+                pixels[index] = (r << 16) | (g << 8) | b;
+                continue;
+            }
+            int dst = pixels[index];
+            int na = 255 - a;
+            int nr = (r * a + ((dst >> 16) & 0xFF) * na) / 255;
+            int ng = (g * a + ((dst >> 8) & 0xFF) * na) / 255;
+            int nb = (b * a + (dst & 0xFF) * na) / 255;
+            pixels[index] = (nr << 16) | (ng << 8) | nb;
+        }
+    }
+}
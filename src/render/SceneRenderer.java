@@ -0,0 +1,569 @@
+package render;
+
+import model.Model;
+import model.Scene;
+import model.Texture;
+import physics.field.FieldPhysicsEngine.PhysicsUpdateResult;
+import physics.camera.CameraPhysics.CameraUpdate;
+import math.Frustum;
+import math.Matrix4f;
+import math.Vector3f;
+import utils.PerformanceMonitor;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Программный конвейер рендеринга сцены в FrameBuffer без Swing-компонента.
+ * Кадр строится в два этапа: build читает сцену (преобразование вершин, отсечение,
+ * сборка треугольников и каркасов), rasterize работает только с собранными данными.
+ * Поэтому блокировать изменения сцены нужно лишь на время build.
+ * Экземпляр не потокобезопасен: один кадр за раз.
+ */
+public class SceneRenderer {
+    // Цвет точек вершин
+    private static final int VERTEX_COLOR = 0xFF0000;
+
+    /**
+     * Стиль изображения моделей
+     */
+    public enum Style {
+        // Закрашенные треугольники, контуры только у не-треугольных полигонов
+        SOLID,
+        // Все ребра моделей, без закраски
+        WIREFRAME,
+        // Ребра, не закрытые гранями (грани закрашиваются цветом фона)
+        HIDDEN_LINE
+    }
+
+    // Буфер глубины; соглашение (reverse-Z или обычное) берется из камеры кадра
+    private final DepthBuffer depthBuffer = new DepthBuffer();
+    // Треугольники кадра и параллельный растеризатор по тайлам
+    private final TriangleBatch triangleBatch = new TriangleBatch();
+    private final TileRasterizer tileRasterizer;
+    // Отрезки каркаса кадра и их растеризатор; ребра моделей кэшируются до изменения сетки
+    private final LineBatch lineBatch = new LineBatch();
+    private final LineRasterizer lineRasterizer = new LineRasterizer();
+    private final Map<Model, ModelEdges> modelEdges = new WeakHashMap<>();
+    // Вершины точками-спрайтами (с прореживанием плотных участков)
+    private final PointRasterizer pointRasterizer = new PointRasterizer();
+    // Параметры освещения и текстурирования
+    private final Shading shading = new Shading();
+    // Этап преобразования вершин: камера кадра и экранные координаты вершин каждой модели
+    private final ViewTransform viewTransform = new ViewTransform();
+    private final List<TransformedVertices> transformedModels = new ArrayList<>();
+    // Отсечение треугольников ближней плоскостью и защитной полосой вокруг экрана
+    private final TriangleClipper triangleClipper = new TriangleClipper();
+    // Отсечение целых моделей: пирамида видимого экрана и кэш ограничивающих сфер
+    private final Frustum viewFrustum = new Frustum();
+    private final Map<Model, ModelBounds> modelBounds = new WeakHashMap<>();
+    // Статистика кадра рендеринга (время, отправленные и отсеченные треугольники)
+    private final PerformanceMonitor renderMonitor = new PerformanceMonitor();
+    // Масштаб вписывания сцены в экран, сохраняется между кадрами
+    private double scale = 1.0;
+    // Рисовать ли вершины точками поверх изображения
+    private boolean showVertices = true;
+
+    // Состояние между build и rasterize
+    private FrameBuffer target;
+    private int preparedModels;
+    private Style style = Style.SOLID;
+    private int background;
+    private boolean lineDepthTest;
+
+    public SceneRenderer() {
+        this.tileRasterizer = new TileRasterizer();
+    }
+
+    public SceneRenderer(ForkJoinPool pool) {
+        this.tileRasterizer = new TileRasterizer(pool);
+    }
+
+    /**
+     * Сбрасывает масштаб и кэш границ моделей (после загрузки или удаления моделей)
+     */
+    public void resetView() {
+        scale = 1.0;
+        modelBounds.clear();
+        modelEdges.clear();
+    }
+
+    /**
+     * Рендерит кадр целиком
+     */
+    public void render(Scene scene, ViewCamera camera, FrameBuffer target, int width, int height, int background) {
+        if (build(scene, camera, null, target, width, height, background, () -> false)) {
+            rasterize();
+        }
+    }
+
+    /**
+     * Первый этап кадра: читает сцену и собирает треугольники, каркасы рисуются сразу в target
+     * @param physics результат физики для физического режима (может быть null)
+     * @param cancelled проверяется между моделями; если вернул true, кадр прерывается
+     * @return false, если кадр прерван и rasterize вызывать не нужно
+     */
+    public boolean build(Scene scene, ViewCamera camera, PhysicsUpdateResult physics,
+                         FrameBuffer target, int width, int height, int background,
+                         BooleanSupplier cancelled) {
+        renderMonitor.startFrame();
+        this.target = target;
+        this.preparedModels = 0;
+
+        // Кадр растеризуется в программный буфер, который пересоздается только при изменении размера
+        target.resize(width, height);
+        target.clear(background);
+        depthBuffer.resize(width, height);
+        depthBuffer.setConvention(camera.zBufferFormat, camera.depthCompareFunc);
+        depthBuffer.clear();
+        shading.textureFilter = camera.textureFilter;
+        shading.mode = camera.shadingMode;
+        // В каркасных стилях грани не освещаются: в HIDDEN_LINE они только закрывают линии
+        style = camera.style;
+        shading.enableLighting = style == Style.SOLID;
+        shading.enableTexture = style == Style.SOLID;
+        // Нормализация направлений и таблица зеркальной составляющей - один раз на кадр
+        shading.prepare();
+        this.background = background;
+        lineBatch.clear();
+        lineDepthTest = style != Style.WIREFRAME;
+
+        Graphics2D frameGraphics = target.getImage().createGraphics();
+        frameGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        try {
+            // По умолчанию используем простой рендеринг для надежности
+            // Физический рендеринг можно включить позже, когда он будет полностью протестирован
+            boolean usePhysicsRendering = false; // Временно отключено
+
+            if (usePhysicsRendering && physics != null) {
+                try {
+                    lineDepthTest = false;
+                    drawWithPhysics(frameGraphics, scene, physics, width, height);
+                    return !cancelled.getAsBoolean();
+                } catch (Exception e) {
+                    // Если ошибка при рендеринге с физикой, используем простой рендеринг
+                    System.err.println("Error in physics rendering: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+            return drawSimple(frameGraphics, scene, camera, width, height, cancelled);
+        } finally {
+            frameGraphics.dispose();
+        }
+    }
+
+    /**
+     * Второй этап кадра: растеризация собранных треугольников и вершины поверх изображения.
+     * Сцену не читает.
+     */
+    public void rasterize() {
+        // Растеризуем треугольники всех моделей параллельно по тайлам
+        tileRasterizer.render(triangleBatch, target, depthBuffer, shading);
+        // Каркас поверх треугольников; с тестом глубины закрытые ребра не рисуются
+        if (lineBatch.size() > 0) {
+            lineRasterizer.render(lineBatch, target, lineDepthTest ? depthBuffer : null);
+        }
+
+        renderMonitor.endFrame();
+        if (!showVertices) {
+            return;
+        }
+
+        // Вершины штампуются спрайтами поверх готового изображения; закрытые гранями не рисуются
+        DepthBuffer pointDepth = lineDepthTest ? depthBuffer : null;
+        for (int i = 0; i < preparedModels; i++) {
+            TransformedVertices transformed = transformedModels.get(i);
+            pointRasterizer.render(transformed, target, pointDepth, VERTEX_COLOR);
+        }
+    }
+
+    public void setShowVertices(boolean showVertices) {
+        this.showVertices = showVertices;
+    }
+
+    /**
+     * Статистика последнего завершенного кадра
+     */
+    public PerformanceMonitor.FrameStats getFrameStats() {
+        return renderMonitor.getFrameStats();
+    }
+
+    /**
+     * Текущий масштаб вписывания сцены
+     */
+    public double getScale() {
+        return scale;
+    }
+    
+    private void drawWithPhysics(Graphics2D g2d, Scene scene, PhysicsUpdateResult lastPhysicsUpdate,
+                                 int width, int height) {
+        CameraUpdate cameraUpdate = lastPhysicsUpdate.cameraUpdate;
+        
+        // Создаем view матрицу из данных камеры
+        Matrix4f viewMatrix = createViewMatrix(cameraUpdate);
+        Matrix4f projectionMatrix = lastPhysicsUpdate.projectionUpdate.projectionMatrix;
+        
+        // Комбинируем view и projection матрицы
+        Matrix4f viewProjMatrix = projectionMatrix.multiply(viewMatrix);
+        
+        // Рендерим каждую модель
+        int activeIndex = scene.getActiveModelIndex();
+        List<Model> models = scene.getModels();
+        while (transformedModels.size() < models.size()) {
+            transformedModels.add(new TransformedVertices());
+        }
+        
+        for (int i = 0; i < models.size(); i++) {
+            Model model = models.get(i);
+            boolean isActive = (i == activeIndex);
+            boolean isSelected = scene.isModelSelected(i);
+
+            // Разные цвета для активных и неактивных моделей
+            if (isActive) {
+                g2d.setColor(isSelected ? new Color(0, 150, 255) : new Color(0, 100, 200));
+            } else if (isSelected) {
+                g2d.setColor(new Color(150, 150, 150));
+            } else {
+                g2d.setColor(new Color(100, 100, 100));
+            }
+
+            boolean visible = i < lastPhysicsUpdate.visibilityFlags.length ? 
+                             lastPhysicsUpdate.visibilityFlags[i] : true;
+            drawModel3D(g2d, model, transformedModels.get(i), viewProjMatrix, width, height, visible);
+        }
+        preparedModels = models.size();
+    }
+    
+    private Matrix4f createViewMatrix(CameraUpdate cameraUpdate) {
+        Vector3f f = cameraUpdate.forward;
+        Vector3f r = cameraUpdate.right;
+        Vector3f u = cameraUpdate.up;
+        Vector3f pos = cameraUpdate.position;
+        
+        Matrix4f view = new Matrix4f();
+        view.set(0, 0, r.x); view.set(0, 1, r.y); view.set(0, 2, r.z);
+        view.set(1, 0, u.x); view.set(1, 1, u.y); view.set(1, 2, u.z);
+        view.set(2, 0, -f.x); view.set(2, 1, -f.y); view.set(2, 2, -f.z);
+        
+        view.set(0, 3, -r.dot(pos));
+        view.set(1, 3, -u.dot(pos));
+        view.set(2, 3, f.dot(pos));
+        
+        return view;
+    }
+    
+    private void drawModel3D(Graphics2D g2d, Model model, TransformedVertices transformed, Matrix4f viewProjMatrix,
+                             int width, int height, boolean visible) {
+        if (!visible) {
+            transformed.clear();
+            return;
+        }
+
+        int vertexCount = model.getVertexCount();
+        float m00 = viewProjMatrix.get(0, 0), m01 = viewProjMatrix.get(0, 1), m02 = viewProjMatrix.get(0, 2), m03 = viewProjMatrix.get(0, 3);
+        float m10 = viewProjMatrix.get(1, 0), m11 = viewProjMatrix.get(1, 1), m12 = viewProjMatrix.get(1, 2), m13 = viewProjMatrix.get(1, 3);
+        float m20 = viewProjMatrix.get(2, 0), m21 = viewProjMatrix.get(2, 1), m22 = viewProjMatrix.get(2, 2), m23 = viewProjMatrix.get(2, 3);
+        float m30 = viewProjMatrix.get(3, 0), m31 = viewProjMatrix.get(3, 1), m32 = viewProjMatrix.get(3, 2), m33 = viewProjMatrix.get(3, 3);
+
+        // Преобразуем вершины в экранные координаты; вершины вне видимой области NDC
+        // помечаются NEAR_MASK, чтобы PointRasterizer их не рисовал
+        transformed.ensureCapacity(vertexCount);
+        int[] clipCodes = transformed.getClipCodes();
+        for (int v = 0; v < vertexCount; v++) {
+            float x = model.getVertexX(v), y = model.getVertexY(v), z = model.getVertexZ(v);
+            float clipW = m30 * x + m31 * y + m32 * z + m33;
+            // Точка слишком близко к камере или на бесконечности: ни ребра, ни точки
+            if (Math.abs(clipW) < 0.0001f) {
+                transformed.set(v, 0, 0, 0, 0, 0, 0);
+                clipCodes[v] = TriangleClipper.NEAR_MASK;
+                continue;
+            }
+            float ndcX = (m00 * x + m01 * y + m02 * z + m03) / clipW;
+            float ndcY = (m10 * x + m11 * y + m12 * z + m13) / clipW;
+            float ndcZ = (m20 * x + m21 * y + m22 * z + m23) / clipW;
+
+            // Рисуем даже если немного выходит за границы для лучшей видимости
+            boolean inView = ndcX >= -2.0f && ndcX <= 2.0f && ndcY >= -2.0f && ndcY <= 2.0f
+                && ndcZ >= -2.0f && ndcZ <= 2.0f;
+            int screenX = (int) ((ndcX + 1.0f) * 0.5f * width);
+            int screenY = (int) ((1.0f - ndcY) * 0.5f * height);
+            transformed.set(v, screenX, screenY, ndcZ, clipW, 0, 0);
+            clipCodes[v] = inView ? 0 : TriangleClipper.NEAR_MASK;
+        }
+
+        // Каждое общее ребро рисуется один раз (список ребер кэшируется до изменения сетки)
+        ModelEdges modelEdgeList = modelEdges.computeIfAbsent(model, m -> new ModelEdges());
+        modelEdgeList.update(model);
+        int[] edges = modelEdgeList.getEdges();
+        float[] sx = transformed.getScreenX();
+        float[] sy = transformed.getScreenY();
+        float[] depth = transformed.getDepth();
+        float[] w = transformed.getW();
+        int lineColor = g2d.getColor().getRGB();
+        for (int e = 0; e < modelEdgeList.getEdgeCount(); e++) {
+            int a = edges[e * 2];
+            int b = edges[e * 2 + 1];
+            if (w[a] == 0 || w[b] == 0) {
+                continue;
+            }
+            // Рисуем ребро, если хотя бы один конец рядом с экраном
+            if (isNearScreen(sx[a], sy[a], width, height) || isNearScreen(sx[b], sy[b], width, height)) {
+                lineBatch.add(sx[a], sy[a], depth[a], sx[b], sy[b], depth[b], lineColor);
+            }
+        }
+        // Вершины рисуются спрайтами в rasterize, как и в простом режиме
+    }
+
+    // Видимая в NDC вершина всегда попадает в этот прямоугольник
+    private static boolean isNearScreen(float x, float y, int width, int height) {
+        return x >= -width && x <= width * 2 && y >= -height && y <= height * 2;
+    }
+
+    private boolean drawSimple(Graphics2D g2d, Scene scene, ViewCamera camera, int width, int height,
+                               BooleanSupplier cancelled) {
+        // Простой рендеринг без физики (fallback)
+        List<Model> models = scene.getModels();
+        
+        // Границы всех моделей для центрирования (кэшируются сценой до изменения вершин)
+        Model.Bounds sceneBounds = scene.getBounds();
+        double centerX = sceneBounds.centerX;
+        double centerY = sceneBounds.centerY;
+        double centerZ = sceneBounds.centerZ;
+
+        double rangeX = sceneBounds.maxX - sceneBounds.minX;
+        double rangeY = sceneBounds.maxY - sceneBounds.minY;
+        double rangeZ = sceneBounds.maxZ - sceneBounds.minZ;
+        double maxRange = Math.max(Math.max(rangeX, rangeY), rangeZ);
+
+        // Автоматический масштаб для вписывания в экран
+        // Всегда пересчитываем масштаб для правильного отображения
+        if (maxRange > 0) {
+            double scaleX = (width * 0.8) / Math.max(rangeX, 0.001);
+            double scaleY = (height * 0.8) / Math.max(rangeY, 0.001);
+            double newScale = Math.min(scaleX, scaleY);
+            
+            // Если масштаб не был установлен или модель изменилась, обновляем его
+            if (scale == 1.0 || Math.abs(scale - newScale) > 0.1) {
+                scale = newScale;
+            }
+        }
+
+        // Камера кадра: поворот и проекция вычисляются один раз
+        viewTransform.set(camera.rotationX, camera.rotationY, centerX, centerY, centerZ, camera.target,
+                scale, camera.distance, width / 2 + camera.offsetX, height / 2 + camera.offsetY,
+                depthBuffer, camera.nearPlane);
+        triangleClipper.update(viewTransform, width, height);
+        viewTransform.updateClipFrustum(viewFrustum, 0, 0, width, height);
+        while (transformedModels.size() < models.size()) {
+            transformedModels.add(new TransformedVertices());
+        }
+
+        // Рендерим каждую модель: треугольники собираются в общий пакет кадра
+        int activeIndex = scene.getActiveModelIndex();
+        triangleBatch.clear();
+        for (int i = 0; i < models.size(); i++) {
+            // Устаревший кадр бросаем между моделями
+            if (cancelled.getAsBoolean()) {
+                return false;
+            }
+            Model model = models.get(i);
+            boolean isActive = (i == activeIndex);
+            boolean isSelected = scene.isModelSelected(i);
+
+            // Разные цвета для активных и неактивных моделей
+            if (isActive) {
+                g2d.setColor(isSelected ? new Color(0, 150, 255) : new Color(0, 100, 200));
+            } else if (isSelected) {
+                g2d.setColor(new Color(150, 150, 150));
+            } else {
+                g2d.setColor(new Color(100, 100, 100));
+            }
+
+            // Модель целиком вне экрана пропускается до любой работы с вершинами
+            TransformedVertices transformed = transformedModels.get(i);
+            if (!isModelVisible(model)) {
+                transformed.clear();
+                renderMonitor.addCulledModel();
+                continue;
+            }
+
+            // Каждая вершина модели преобразуется ровно один раз за кадр
+            viewTransform.transform(model, transformed);
+            if (shading.mode == Shading.Mode.GOURAUD) {
+                lightVertices(model, transformed);
+            }
+            triangleClipper.computeClipCodes(transformed);
+            drawModel(g2d, model, transformed, width, height);
+        }
+        preparedModels = models.size();
+        return true;
+    }
+
+    /**
+     * Освещение в вершинах для закраски Гуро: общая вершина освещается один раз,
+     * а не в каждом треугольнике, куда она входит
+     */
+    private void lightVertices(Model model, TransformedVertices transformed) {
+        float[] light = transformed.getLight();
+        int count = transformed.size();
+        for (int i = 0; i < count; i++) {
+            light[i] = shading.enableLighting
+                ? (float) shading.computeLightingUnnormalized(
+                    model.getVertexNx(i), model.getVertexNy(i), model.getVertexNz(i))
+                : 1.0f;
+        }
+    }
+
+    private void drawModel(Graphics2D g2d, Model model, TransformedVertices transformed,
+                          int width, int height) {
+
+        int polygonCount = model.getPolygonCount();
+        if (model.getVertexCount() == 0 || polygonCount == 0) {
+            return; // Нет данных для отображения
+        }
+
+        float[] screenX = transformed.getScreenX();
+        float[] screenY = transformed.getScreenY();
+        float[] depth = transformed.getDepth();
+        int vertexCount = transformed.size();
+
+        // Треугольники (с освещением и текстурой) собираются в пакет кадра, ребра - в пакет отрезков
+        Texture texture = model.getTextureData();
+        int textureSlot = texture != null && style == Style.SOLID ? triangleBatch.addTexture(texture) : -1;
+        // В HIDDEN_LINE грани закрашиваются фоном и только заполняют буфер глубины
+        int color = style == Style.HIDDEN_LINE ? background : g2d.getColor().getRGB();
+        Model.CullMode cullMode = model.getCullMode();
+        int[] clipCodes = transformed.getClipCodes();
+        float[] light = transformed.getLight();
+        int submitted = 0;
+        int culled = 0;
+        int clipped = 0;
+        for (int p = 0; p < polygonCount; p++) {
+            if (style == Style.WIREFRAME) {
+                break;
+            }
+            if (model.getPolygonSize(p) == 3) {
+                // Только заливка/текстура для треугольников
+                int i0 = model.getIndex(p, 0), i1 = model.getIndex(p, 1), i2 = model.getIndex(p, 2);
+                if (i0 < 0 || i0 >= vertexCount || i1 < 0 || i1 >= vertexCount || i2 < 0 || i2 >= vertexCount) {
+                    continue;
+                }
+                submitted++;
+                int code0 = clipCodes[i0], code1 = clipCodes[i1], code2 = clipCodes[i2];
+                if ((code0 & code1 & code2) != 0) {
+                    // Все вершины снаружи одной плоскости - треугольник не виден
+                    clipped++;
+                    continue;
+                }
+                if ((code0 | code1 | code2) != 0) {
+                    // Треугольник пересекает ближнюю плоскость или защитную полосу
+                    clipped++;
+                    if (triangleClipper.clip(transformed, model, i0, i1, i2, viewTransform) == 0) {
+                        continue;
+                    }
+                    if (isCulled(cullMode, triangleClipper.screenArea())) {
+                        culled++;
+                        continue;
+                    }
+                    triangleClipper.emit(triangleBatch, color, textureSlot);
+                    continue;
+                }
+                // Отсечение нелицевых граней по знаку экранной площади
+                float area = (screenX[i1] - screenX[i0]) * (screenY[i2] - screenY[i0])
+                           - (screenY[i1] - screenY[i0]) * (screenX[i2] - screenX[i0]);
+                if (isCulled(cullMode, area)) {
+                    culled++;
+                    continue;
+                }
+                int base = triangleBatch.addTriangle(color, textureSlot);
+                for (int i = 0; i < 3; i++) {
+                    int idx = model.getIndex(p, i);
+                    triangleBatch.setVertex(base + i, screenX[idx], screenY[idx], depth[idx],
+                        model.getVertexNx(idx), model.getVertexNy(idx), model.getVertexNz(idx),
+                        model.getVertexU(idx), model.getVertexV(idx));
+                    triangleBatch.setLight(base + i, light[idx]);
+                }
+            }
+        }
+
+        // Контуры: в SOLID только у не-треугольных полигонов, в каркасных стилях - все ребра
+        ModelEdges edges = modelEdges.computeIfAbsent(model, m -> new ModelEdges());
+        edges.update(model);
+        int lineColor = g2d.getColor().getRGB();
+        if (style == Style.SOLID) {
+            addEdges(edges.getOutlineEdges(), edges.getOutlineEdgeCount(), transformed, lineColor);
+        } else {
+            addEdges(edges.getEdges(), edges.getEdgeCount(), transformed, lineColor);
+        }
+
+        renderMonitor.addSubmittedTriangles(submitted);
+        renderMonitor.addCulledTriangles(culled);
+        renderMonitor.addClippedTriangles(clipped);
+    }
+
+    /**
+     * Добавляет ребра модели в пакет отрезков кадра; ребро, пересекающее ближнюю плоскость,
+     * обрезается по ней в пространстве камеры
+     * @return число добавленных отрезков
+     */
+    private int addEdges(int[] edges, int count, TransformedVertices transformed, int color) {
+        float[] screenX = transformed.getScreenX();
+        float[] screenY = transformed.getScreenY();
+        float[] depth = transformed.getDepth();
+        float[] cameraX = transformed.getCameraX();
+        float[] cameraY = transformed.getCameraY();
+        float[] w = transformed.getW();
+        int vertexCount = transformed.size();
+        float near = viewTransform.getNear();
+        int added = 0;
+        for (int e = 0; e < count; e++) {
+            int a = edges[e * 2], b = edges[e * 2 + 1];
+            if (a >= vertexCount || b >= vertexCount) {
+                continue;
+            }
+            boolean behindA = w[a] < near, behindB = w[b] < near;
+            if (behindA && behindB) {
+                continue;
+            }
+            if (behindA || behindB) {
+                // Точка пересечения с ближней плоскостью заменяет вершину за ней
+                int front = behindA ? b : a, back = behindA ? a : b;
+                float t = (near - w[front]) / (w[back] - w[front]);
+                float x = cameraX[front] + (cameraX[back] - cameraX[front]) * t;
+                float y = cameraY[front] + (cameraY[back] - cameraY[front]) * t;
+                lineBatch.add(screenX[front], screenY[front], depth[front],
+                    viewTransform.projectX(x, near), viewTransform.projectY(y, near), viewTransform.depth(near), color);
+            } else {
+                lineBatch.add(screenX[a], screenY[a], depth[a], screenX[b], screenY[b], depth[b], color);
+            }
+            added++;
+        }
+        return added;
+    }
+
+    private boolean isModelVisible(Model model) {
+        ModelBounds bounds = modelBounds.computeIfAbsent(model, m -> new ModelBounds());
+        bounds.update(model);
+        Vector3f center = viewTransform.toCameraSpace(bounds.getCenter());
+        return viewFrustum.intersectsSphere(center, bounds.getRadius());
+    }
+
+    /**
+     * Проверка нелицевой грани по знаку экранной площади (ось Y экрана направлена вниз,
+     * поэтому положительная площадь - обход по часовой стрелке)
+     */
+    private static boolean isCulled(Model.CullMode cullMode, float area) {
+        switch (cullMode) {
+            case CW: return area > 0;
+            case CCW: return area < 0;
+            default: return false;
+        }
+    }
+}
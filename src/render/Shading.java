@@ -0,0 +1,105 @@
+package render;
+
+import model.Texture;
+
+/**
+ * Параметры освещения и текстурирования, общие для всех тайлов кадра.
+ * Перед растеризацией кадра вызывается prepare(): направления нормализуются, а для текущего
+ * shininess строится таблица зеркальной составляющей. Во время растеризации объект только читается.
+ */
+public class Shading {
+    // Число интервалов таблицы pow(x, shininess) на отрезке [0, 1]
+    private static final int SPECULAR_LUT_SIZE = 1024;
+
+    /**
+     * Режим закраски: компромисс между качеством и скоростью
+     */
+    public enum Mode {
+        // Освещение один раз на треугольник по средней нормали
+        FLAT,
+        // Освещение в вершинах треугольника, яркость интерполируется
+        GOURAUD,
+        // Интерполяция нормали и освещение в каждом пикселе
+        PHONG
+    }
+
+    public boolean enableLighting = true;
+    public boolean enableTexture = true;
+    public Mode mode = Mode.PHONG;
+    // Фильтрация текстур (уровень mip выбирается для каждого треугольника)
+    public Texture.Filter textureFilter = Texture.Filter.BILINEAR;
+    public double ambientStrength = 0.2;
+    public double lightIntensity = 1.2;
+    public double specularStrength = 0.5;
+    public double shininess = 32.0;
+    // Направление света (нормализуется при вычислении)
+    public double lightDirX = -0.5, lightDirY = -0.5, lightDirZ = 1.0;
+    // Направление на наблюдателя; растеризатор смотрит вдоль оси z экрана
+    public double viewDirX = 0, viewDirY = 0, viewDirZ = 1;
+
+    // Состояние кадра, вычисленное в prepare()
+    private double lightX, lightY, lightZ;
+    private double viewX, viewY, viewZ;
+    private double diffuseScale;
+    private final double[] specularLut = new double[SPECULAR_LUT_SIZE + 2];
+    private double lutShininess = Double.NaN;
+
+    /**
+     * Готовит состояние освещения кадра; вызывается однопоточно до растеризации
+     */
+    public void prepare() {
+        double len = Math.sqrt(lightDirX * lightDirX + lightDirY * lightDirY + lightDirZ * lightDirZ);
+        if (len < 1e-8) {
+            lightX = 0; lightY = 0; lightZ = 1;
+        } else {
+            lightX = lightDirX / len; lightY = lightDirY / len; lightZ = lightDirZ / len;
+        }
+        len = Math.sqrt(viewDirX * viewDirX + viewDirY * viewDirY + viewDirZ * viewDirZ);
+        if (len < 1e-8) {
+            viewX = 0; viewY = 0; viewZ = 1;
+        } else {
+            viewX = viewDirX / len; viewY = viewDirY / len; viewZ = viewDirZ / len;
+        }
+        diffuseScale = (1.0 - ambientStrength) * lightIntensity;
+        if (shininess != lutShininess) {
+            for (int i = 0; i <= SPECULAR_LUT_SIZE; i++) {
+                specularLut[i] = Math.pow((double) i / SPECULAR_LUT_SIZE, shininess);
+            }
+            // Запасной элемент, чтобы интерполяция при x = 1 не выходила за массив
+            specularLut[SPECULAR_LUT_SIZE + 1] = specularLut[SPECULAR_LUT_SIZE];
+            lutShininess = shininess;
+        }
+    }
+
+    /**
+     * То же, что computeLighting, для ненормированной (интерполированной) нормали
+     */
+    public double computeLightingUnnormalized(double nx, double ny, double nz) {
+        double norm = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        if (norm > 1e-8) {
+            return computeLighting(nx / norm, ny / norm, nz / norm);
+        }
+        return computeLighting(nx, ny, nz);
+    }
+
+    /**
+     * Phong (Lambert + ambient + specular) для единичной нормали; без выделения памяти.
+     * Использует состояние последнего вызова prepare().
+     */
+    public double computeLighting(double nx, double ny, double nz) {
+        // Diffuse
+        double dot = nx * lightX + ny * lightY + nz * lightZ;
+        double diffuse = Math.max(0, dot);
+        // Specular: отраженный свет r = 2 (n.l) n - l, степень берется из таблицы
+        double rv = (2 * dot * nx - lightX) * viewX + (2 * dot * ny - lightY) * viewY + (2 * dot * nz - lightZ) * viewZ;
+        double spec = 0;
+        if (rv > 0) {
+            double position = Math.min(rv, 1.0) * SPECULAR_LUT_SIZE;
+            int index = (int) position;
+            double frac = position - index;
+            spec = specularLut[index] + (specularLut[index + 1] - specularLut[index]) * frac;
+        }
+        double result = ambientStrength + diffuse * diffuseScale + specularStrength * spec;
+        return Math.min(1.0, Math.max(0.0, result));
+    }
+}
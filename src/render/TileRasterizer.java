@@ -0,0 +1,407 @@
+package render;
+
+import model.Texture;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Многопоточный растеризатор с разбиением экрана на тайлы.
+ * Сначала треугольники раскладываются по тайлам (binning), затем тайлы
+ * закрашиваются параллельно в ForkJoinPool. Каждый тайл пишет только в свой
+ * прямоугольник буферов цвета и глубины, поэтому общего изменяемого состояния нет.
+ * Треугольники постоянного цвета закрашиваются строками, остальные - блоками 8x8.
+ */
+public class TileRasterizer {
+    public static final int TILE_SIZE = 64;
+    private static final int INITIAL_BIN_CAPACITY = 64;
+
+    private final ForkJoinPool pool;
+    private final TriangleSetup setup = new TriangleSetup();
+
+    // Списки треугольников по тайлам, переиспользуются между кадрами
+    private int[][] bins = new int[0][];
+    private int[] binSizes = new int[0];
+    private int tilesX;
+    private int tilesY;
+
+    // Состояние текущего кадра (только для чтения во время закраски тайлов)
+    private TriangleBatch batch;
+    private FrameBuffer frameBuffer;
+    private DepthBuffer depthBuffer;
+    private Shading shading;
+
+    /**
+     * Растеризатор на общем пуле ForkJoinPool.commonPool(): собственные потоки не создаются,
+     * поэтому закрывать его не нужно
+     */
+    public TileRasterizer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public TileRasterizer(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Растеризует все треугольники пакета в буферы цвета и глубины
+     * @param shading освещение кадра, уже подготовленное вызовом Shading.prepare
+     */
+    public void render(TriangleBatch batch, FrameBuffer frameBuffer, DepthBuffer depthBuffer, Shading shading) {
+        if (batch.size() == 0) {
+            return;
+        }
+        this.batch = batch;
+        this.frameBuffer = frameBuffer;
+        this.depthBuffer = depthBuffer;
+        this.shading = shading;
+        try {
+            setup.build(batch, frameBuffer.getWidth(), frameBuffer.getHeight());
+            binTriangles();
+            pool.invoke(new TileTask(0, tilesX * tilesY));
+        } finally {
+            this.batch = null;
+            this.frameBuffer = null;
+            this.depthBuffer = null;
+            this.shading = null;
+        }
+    }
+
+    private void binTriangles() {
+        int width = frameBuffer.getWidth();
+        int height = frameBuffer.getHeight();
+        tilesX = (width + TILE_SIZE - 1) / TILE_SIZE;
+        tilesY = (height + TILE_SIZE - 1) / TILE_SIZE;
+        int tileCount = tilesX * tilesY;
+        if (bins.length < tileCount) {
+            bins = Arrays.copyOf(bins, tileCount);
+            binSizes = new int[tileCount];
+        }
+        Arrays.fill(binSizes, 0);
+
+        TriangleSetup ts = setup;
+        for (int s = 0; s < ts.count; s++) {
+            int tileMinX = ts.minX[s] / TILE_SIZE, tileMaxX = ts.maxX[s] / TILE_SIZE;
+            int tileMinY = ts.minY[s] / TILE_SIZE, tileMaxY = ts.maxY[s] / TILE_SIZE;
+            for (int ty = tileMinY; ty <= tileMaxY; ty++) {
+                for (int tx = tileMinX; tx <= tileMaxX; tx++) {
+                    addToBin(ty * tilesX + tx, s);
+                }
+            }
+        }
+    }
+
+    private void addToBin(int tile, int triangle) {
+        int[] bin = bins[tile];
+        int size = binSizes[tile];
+        if (bin == null) {
+            bin = new int[INITIAL_BIN_CAPACITY];
+            bins[tile] = bin;
+        } else if (size == bin.length) {
+            bin = Arrays.copyOf(bin, size * 2);
+            bins[tile] = bin;
+        }
+        bin[size] = triangle;
+        binSizes[tile] = size + 1;
+    }
+
+    private void rasterizeTile(int tile) {
+        int size = binSizes[tile];
+        if (size == 0) return;
+        int minX = (tile % tilesX) * TILE_SIZE;
+        int minY = (tile / tilesX) * TILE_SIZE;
+        int maxX = Math.min(minX + TILE_SIZE, frameBuffer.getWidth()) - 1;
+        int maxY = Math.min(minY + TILE_SIZE, frameBuffer.getHeight()) - 1;
+        int[] bin = bins[tile];
+        TileWorker worker = new TileWorker();
+        for (int i = 0; i < size; i++) {
+            worker.rasterizeTriangle(bin[i], minX, minY, maxX, maxY);
+        }
+    }
+
+    /**
+     * Растеризация треугольников одного тайла. Обход идет блоками BLOCK_SIZE x BLOCK_SIZE:
+     * блок, целиком лежащий снаружи хотя бы одного ребра, пропускается; блок внутри всех
+     * трех ребер закрашивается без попиксельных проверок; проверки ребер выполняются
+     * только для частично покрытых блоков.
+     */
+    private final class TileWorker {
+        private static final int BLOCK_SIZE = 8;
+        private static final int BLOCK_MASK = ~(BLOCK_SIZE - 1);
+
+        private final int[] pixels = frameBuffer.getPixels();
+        private final int width = frameBuffer.getWidth();
+
+        // Коэффициенты ребер текущего треугольника и шаги на один пиксель
+        private long a0, a1, a2, b0, b1, b2, c0, c1, c2;
+        private long stepX0, stepX1, stepX2, stepY0, stepY1, stepY2;
+        private double invArea;
+
+        // Атрибуты текущего треугольника в виде a0 + l1 * (a1 - a0) + l2 * (a2 - a0)
+        private float z0, dz1, dz2;
+        private float nx0, dnx1, dnx2, ny0, dny1, dny2, nz0, dnz1, dnz2;
+        private float u0, du1, du2, v0, dv1, dv2;
+        private Texture texture;
+        private Texture.Filter textureFilter;
+        private float textureLod;
+        private int baseColor;
+        // Режим закраски треугольника: яркость в вершинах (GOURAUD) или одна на треугольник (FLAT)
+        private Shading.Mode mode;
+        private float light0, dlight1, dlight2;
+        // Готовый цвет пикселя, если он постоянен на треугольнике (без текстуры при FLAT
+        // или выключенном освещении), иначе -1; такие треугольники закрашиваются строками
+        private int solidColor;
+        // Границы строки при закраске строками (смещения от левого края области)
+        private int spanLeft, spanRight;
+
+        // Растеризация подготовленного треугольника с освещением и текстурой в пределах тайла
+        void rasterizeTriangle(int s, int clipMinX, int clipMinY, int clipMaxX, int clipMaxY) {
+            TriangleSetup ts = setup;
+            int minX = Math.max(clipMinX, ts.minX[s]);
+            int maxX = Math.min(clipMaxX, ts.maxX[s]);
+            int minY = Math.max(clipMinY, ts.minY[s]);
+            int maxY = Math.min(clipMaxY, ts.maxY[s]);
+            if (minX > maxX || minY > maxY) return;
+            beginTriangle(s);
+            if (solidColor >= 0) {
+                fillSpans(minX, minY, maxX, maxY);
+                return;
+            }
+
+            // Экстремумы линейной функции на блоке достигаются в углах, поэтому для
+            // классификации блока достаточно сдвигов от его первого пикселя
+            long maxOff0 = Math.max(0, stepX0 * (BLOCK_SIZE - 1)) + Math.max(0, stepY0 * (BLOCK_SIZE - 1));
+            long maxOff1 = Math.max(0, stepX1 * (BLOCK_SIZE - 1)) + Math.max(0, stepY1 * (BLOCK_SIZE - 1));
+            long maxOff2 = Math.max(0, stepX2 * (BLOCK_SIZE - 1)) + Math.max(0, stepY2 * (BLOCK_SIZE - 1));
+            long minOff0 = Math.min(0, stepX0 * (BLOCK_SIZE - 1)) + Math.min(0, stepY0 * (BLOCK_SIZE - 1));
+            long minOff1 = Math.min(0, stepX1 * (BLOCK_SIZE - 1)) + Math.min(0, stepY1 * (BLOCK_SIZE - 1));
+            long minOff2 = Math.min(0, stepX2 * (BLOCK_SIZE - 1)) + Math.min(0, stepY2 * (BLOCK_SIZE - 1));
+
+            for (int by = minY & BLOCK_MASK; by <= maxY; by += BLOCK_SIZE) {
+                int y0 = Math.max(by, minY);
+                int y1 = Math.min(by + BLOCK_SIZE - 1, maxY);
+                long py = ((long) by << TriangleSetup.SUBPIXEL_BITS) + TriangleSetup.SUBPIXEL_HALF;
+                for (int bx = minX & BLOCK_MASK; bx <= maxX; bx += BLOCK_SIZE) {
+                    long px = ((long) bx << TriangleSetup.SUBPIXEL_BITS) + TriangleSetup.SUBPIXEL_HALF;
+                    // Значения ребер в первом пикселе полного (невыровненного по клипу) блока
+                    long e0 = a0 * px + b0 * py + c0;
+                    long e1 = a1 * px + b1 * py + c1;
+                    long e2 = a2 * px + b2 * py + c2;
+                    if (e0 + maxOff0 < 0 || e1 + maxOff1 < 0 || e2 + maxOff2 < 0) {
+                        continue;
+                    }
+                    boolean inside = e0 + minOff0 >= 0 && e1 + minOff1 >= 0 && e2 + minOff2 >= 0;
+                    int x0 = Math.max(bx, minX);
+                    int x1 = Math.min(bx + BLOCK_SIZE - 1, maxX);
+                    long dx = x0 - bx, dy = y0 - by;
+                    shadeBlock(x0, y0, x1, y1,
+                            e0 + stepX0 * dx + stepY0 * dy,
+                            e1 + stepX1 * dx + stepY1 * dy,
+                            e2 + stepX2 * dx + stepY2 * dy,
+                            !inside);
+                }
+            }
+        }
+
+        private void beginTriangle(int s) {
+            TriangleSetup ts = setup;
+            TriangleBatch b = batch;
+            int e = s * 3;
+            a0 = ts.edgeA[e]; a1 = ts.edgeA[e + 1]; a2 = ts.edgeA[e + 2];
+            b0 = ts.edgeB[e]; b1 = ts.edgeB[e + 1]; b2 = ts.edgeB[e + 2];
+            c0 = ts.edgeC[e]; c1 = ts.edgeC[e + 1]; c2 = ts.edgeC[e + 2];
+            stepX0 = a0 << TriangleSetup.SUBPIXEL_BITS; stepY0 = b0 << TriangleSetup.SUBPIXEL_BITS;
+            stepX1 = a1 << TriangleSetup.SUBPIXEL_BITS; stepY1 = b1 << TriangleSetup.SUBPIXEL_BITS;
+            stepX2 = a2 << TriangleSetup.SUBPIXEL_BITS; stepY2 = b2 << TriangleSetup.SUBPIXEL_BITS;
+            invArea = ts.invArea[s];
+
+            int t = ts.triangle[s];
+            int i0 = t * 3, i1 = i0 + 1, i2 = i0 + 2;
+            z0 = b.z[i0]; dz1 = b.z[i1] - z0; dz2 = b.z[i2] - z0;
+            nx0 = b.nx[i0]; dnx1 = b.nx[i1] - nx0; dnx2 = b.nx[i2] - nx0;
+            ny0 = b.ny[i0]; dny1 = b.ny[i1] - ny0; dny2 = b.ny[i2] - ny0;
+            nz0 = b.nz[i0]; dnz1 = b.nz[i1] - nz0; dnz2 = b.nz[i2] - nz0;
+            u0 = b.u[i0]; du1 = b.u[i1] - u0; du2 = b.u[i2] - u0;
+            v0 = b.v[i0]; dv1 = b.v[i1] - v0; dv2 = b.v[i2] - v0;
+            texture = shading.enableTexture ? b.getTexture(b.textureSlot[t]) : null;
+            if (texture != null) {
+                textureFilter = shading.textureFilter;
+                textureLod = textureLod();
+            }
+            baseColor = b.color[t];
+
+            mode = shading.mode;
+            solidColor = -1;
+            if (mode == Shading.Mode.GOURAUD) {
+                // Освещенность вершин посчитана на этапе преобразования
+                light0 = b.light[i0]; dlight1 = b.light[i1] - light0; dlight2 = b.light[i2] - light0;
+            } else if (mode == Shading.Mode.FLAT) {
+                light0 = shading.enableLighting
+                    ? (float) shading.computeLightingUnnormalized(
+                        b.nx[i0] + b.nx[i1] + b.nx[i2],
+                        b.ny[i0] + b.ny[i1] + b.ny[i2],
+                        b.nz[i0] + b.nz[i1] + b.nz[i2])
+                    : 1.0f;
+                dlight1 = 0; dlight2 = 0;
+                if (texture == null) {
+                    solidColor = applyLight(baseColor, light0);
+                }
+            }
+            if (texture == null && !shading.enableLighting) {
+                solidColor = applyLight(baseColor, 1.0);
+            }
+        }
+
+        /**
+         * Закраска треугольника постоянного цвета по строкам. Границы каждой строки решаются
+         * из уравнений ребер (точно, с тем же правилом top-left, что и попиксельная проверка),
+         * глубина проверяется в плотном цикле, а отрезки, прошедшие тест, заливаются Arrays.fill.
+         */
+        private void fillSpans(int minX, int minY, int maxX, int maxY) {
+            float[] depth = depthBuffer.getDepth();
+            boolean reverseZ = depthBuffer.isReverseZ();
+            int color = solidColor;
+            long px = ((long) minX << TriangleSetup.SUBPIXEL_BITS) + TriangleSetup.SUBPIXEL_HALF;
+            long py = ((long) minY << TriangleSetup.SUBPIXEL_BITS) + TriangleSetup.SUBPIXEL_HALF;
+            long w0Row = a0 * px + b0 * py + c0;
+            long w1Row = a1 * px + b1 * py + c1;
+            long w2Row = a2 * px + b2 * py + c2;
+            for (int y = minY; y <= maxY; y++, w0Row += stepY0, w1Row += stepY1, w2Row += stepY2) {
+                spanLeft = 0;
+                spanRight = maxX - minX;
+                clipSpan(w0Row, stepX0);
+                clipSpan(w1Row, stepX1);
+                clipSpan(w2Row, stepX2);
+                if (spanLeft > spanRight) continue;
+
+                long w1 = w1Row + stepX1 * spanLeft;
+                long w2 = w2Row + stepX2 * spanLeft;
+                int start = y * width + minX;
+                int end = start + spanRight;
+                int runStart = -1;
+                for (int index = start + spanLeft; index <= end; index++, w1 += stepX1, w2 += stepX2) {
+                    float z = z0 + (float) (w1 * invArea) * dz1 + (float) (w2 * invArea) * dz2;
+                    if (reverseZ ? z > depth[index] : z < depth[index]) {
+                        depth[index] = z;
+                        if (runStart < 0) runStart = index;
+                    } else if (runStart >= 0) {
+                        Arrays.fill(pixels, runStart, index, color);
+                        runStart = -1;
+                    }
+                }
+                if (runStart >= 0) {
+                    Arrays.fill(pixels, runStart, end + 1, color);
+                }
+            }
+        }
+
+        // Сужает [spanLeft, spanRight] до пикселей k, где ребро w + step * k >= 0
+        private void clipSpan(long w, long step) {
+            if (step > 0) {
+                if (w < 0) spanLeft = (int) Math.min(Math.max(spanLeft, (-w + step - 1) / step), spanRight + 1L);
+            } else if (step < 0) {
+                if (w < 0) spanRight = -1;
+                else spanRight = (int) Math.min(spanRight, w / -step);
+            } else if (w < 0) {
+                spanRight = -1;
+            }
+        }
+
+        /**
+         * Уровень детализации текстуры для треугольника: log2 наибольшего из шагов UV
+         * (в текселях базового уровня) на пиксель по x и по y. UV интерполируются по экрану
+         * линейно, поэтому производные постоянны на треугольнике и уровень считается один раз.
+         */
+        private float textureLod() {
+            // Производные барицентрических координат на один пиксель
+            double l1dx = stepX1 * invArea, l1dy = stepY1 * invArea;
+            double l2dx = stepX2 * invArea, l2dy = stepY2 * invArea;
+            double dudx = (du1 * l1dx + du2 * l2dx) * texture.getWidth();
+            double dvdx = (dv1 * l1dx + dv2 * l2dx) * texture.getHeight();
+            double dudy = (du1 * l1dy + du2 * l2dy) * texture.getWidth();
+            double dvdy = (dv1 * l1dy + dv2 * l2dy) * texture.getHeight();
+            double rhoSq = Math.max(dudx * dudx + dvdx * dvdx, dudy * dudy + dvdy * dvdy);
+            // log2(sqrt(rhoSq))
+            return (float) (0.5 * Math.log(rhoSq) / Math.log(2));
+        }
+
+        // Закраска прямоугольника пикселей; w0..w2 - значения ребер в пикселе (x0, y0)
+        private void shadeBlock(int x0, int y0, int x1, int y1,
+                                long w0Row, long w1Row, long w2Row, boolean testEdges) {
+            for (int y = y0; y <= y1; y++, w0Row += stepY0, w1Row += stepY1, w2Row += stepY2) {
+                long w0 = w0Row, w1 = w1Row, w2 = w2Row;
+                int row = y * width;
+                for (int x = x0; x <= x1; x++, w0 += stepX0, w1 += stepX1, w2 += stepX2) {
+                    if (testEdges && (w0 | w1 | w2) < 0) continue;
+                    shadePixel(row + x, w1, w2);
+                }
+            }
+        }
+
+        private void shadePixel(int index, long w1, long w2) {
+            float l1 = (float) (w1 * invArea);
+            float l2 = (float) (w2 * invArea);
+            // Ранний тест глубины до освещения и текстурирования
+            float z = z0 + l1 * dz1 + l2 * dz2;
+            if (!depthBuffer.testAndSet(index, z)) return;
+            if (solidColor >= 0) {
+                pixels[index] = solidColor;
+                return;
+            }
+            double light;
+            if (mode == Shading.Mode.PHONG) {
+                // Интерполяция нормали и освещение (Lambert + Phong);
+                // направление на наблюдателя - ось z экрана (Shading.viewDir)
+                light = shading.enableLighting
+                    ? shading.computeLightingUnnormalized(
+                        nx0 + l1 * dnx1 + l2 * dnx2,
+                        ny0 + l1 * dny1 + l2 * dny2,
+                        nz0 + l1 * dnz1 + l2 * dnz2)
+                    : 1.0;
+            } else {
+                light = light0 + l1 * dlight1 + l2 * dlight2;
+            }
+            int color = baseColor;
+            if (texture != null) {
+                // Интерполяция UV
+                color = texture.sample(u0 + l1 * du1 + l2 * du2, v0 + l1 * dv1 + l2 * dv2, textureLod, textureFilter);
+            }
+            pixels[index] = applyLight(color, light);
+        }
+
+        private int applyLight(int color, double light) {
+            int r = (int) Math.round(((color >> 16) & 0xFF) * light);
+            int g = (int) Math.round(((color >> 8) & 0xFF) * light);
+            int b = (int) Math.round((color & 0xFF) * light);
+            return (Math.min(255, r) << 16) | (Math.min(255, g) << 8) | Math.min(255, b);
+        }
+    }
+
+    /**
+     * Задача ForkJoin, делящая диапазон тайлов пополам до одного тайла
+     */
+    private class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        TileTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    rasterizeTile(from);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new TileTask(from, mid), new TileTask(mid, to));
+        }
+    }
+}
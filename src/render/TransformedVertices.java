@@ -0,0 +1,95 @@
+package render;
+
+import java.util.Arrays;
+
+/**
+ * Результат этапа преобразования вершин одной модели за кадр.
+ * Массивы индексируются номером вершины модели и переиспользуются между кадрами.
+ */
+public class TransformedVertices {
+    private float[] screenX = new float[0];
+    private float[] screenY = new float[0];
+    private float[] depth = new float[0];
+    private float[] w = new float[0];
+    private float[] cameraX = new float[0];
+    private float[] cameraY = new float[0];
+    private int[] clipCodes = new int[0];
+    // Освещенность вершины для закраски Гуро (заполняется только в режиме GOURAUD)
+    private float[] light = new float[0];
+    private int count;
+
+    void ensureCapacity(int vertices) {
+        if (vertices > screenX.length) {
+            int newCapacity = Math.max(vertices, screenX.length * 2);
+            screenX = Arrays.copyOf(screenX, newCapacity);
+            screenY = Arrays.copyOf(screenY, newCapacity);
+            depth = Arrays.copyOf(depth, newCapacity);
+            w = Arrays.copyOf(w, newCapacity);
+            cameraX = Arrays.copyOf(cameraX, newCapacity);
+            cameraY = Arrays.copyOf(cameraY, newCapacity);
+            clipCodes = Arrays.copyOf(clipCodes, newCapacity);
+            light = Arrays.copyOf(light, newCapacity);
+        }
+        count = vertices;
+    }
+
+    void set(int i, float x, float y, float z, float wValue, float camX, float camY) {
+        screenX[i] = x;
+        screenY[i] = y;
+        depth[i] = z;
+        w[i] = wValue;
+        cameraX[i] = camX;
+        cameraY[i] = camY;
+    }
+
+    /**
+     * Помечает модель как непреобразованную в этом кадре (например, отсеченную целиком)
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /** Экранная координата X (без округления) */
+    public float[] getScreenX() {
+        return screenX;
+    }
+
+    /** Экранная координата Y (без округления) */
+    public float[] getScreenY() {
+        return screenY;
+    }
+
+    /** Значение для буфера глубины в соглашении текущего DepthBuffer */
+    public float[] getDepth() {
+        return depth;
+    }
+
+    /** Расстояние до камеры вдоль оси взгляда */
+    public float[] getW() {
+        return w;
+    }
+
+    /** Координата X в пространстве камеры (до проекции) */
+    public float[] getCameraX() {
+        return cameraX;
+    }
+
+    /** Координата Y в пространстве камеры (до проекции) */
+    public float[] getCameraY() {
+        return cameraY;
+    }
+
+    /** Битовые маски плоскостей отсечения, снаружи которых лежит вершина (см. TriangleClipper) */
+    public int[] getClipCodes() {
+        return clipCodes;
+    }
+
+    /** Освещенность вершины (см. Shading.Mode.GOURAUD) */
+    public float[] getLight() {
+        return light;
+    }
+
+    public int size() {
+        return count;
+    }
+}
@@ -0,0 +1,126 @@
+package render;
+
+import model.Texture;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Спроецированные треугольники кадра в виде плоских массивов (по три вершины на треугольник).
+ * Заполняется однопоточно, затем только читается тайлами растеризатора.
+ */
+public class TriangleBatch {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Экранные координаты и значение глубины вершин
+    float[] x, y, z;
+    // Нормали и UV вершин
+    float[] nx, ny, nz;
+    float[] u, v;
+    // Освещенность вершин для закраски Гуро
+    float[] light;
+    // Цвет и номер текстуры треугольника (-1 - без текстуры)
+    int[] color;
+    int[] textureSlot;
+    int count;
+
+    private final List<Texture> textures = new ArrayList<>();
+
+    public TriangleBatch() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private void allocate(int triangles) {
+        int vertices = triangles * 3;
+        x = new float[vertices];
+        y = new float[vertices];
+        z = new float[vertices];
+        nx = new float[vertices];
+        ny = new float[vertices];
+        nz = new float[vertices];
+        u = new float[vertices];
+        v = new float[vertices];
+        light = new float[vertices];
+        color = new int[triangles];
+        textureSlot = new int[triangles];
+    }
+
+    private void ensureCapacity(int triangles) {
+        if (triangles <= color.length) {
+            return;
+        }
+        int newCapacity = Math.max(triangles, color.length * 2);
+        int vertices = newCapacity * 3;
+        x = Arrays.copyOf(x, vertices);
+        y = Arrays.copyOf(y, vertices);
+        z = Arrays.copyOf(z, vertices);
+        nx = Arrays.copyOf(nx, vertices);
+        ny = Arrays.copyOf(ny, vertices);
+        nz = Arrays.copyOf(nz, vertices);
+        u = Arrays.copyOf(u, vertices);
+        v = Arrays.copyOf(v, vertices);
+        light = Arrays.copyOf(light, vertices);
+        color = Arrays.copyOf(color, newCapacity);
+        textureSlot = Arrays.copyOf(textureSlot, newCapacity);
+    }
+
+    /**
+     * Очищает пакет, сохраняя выделенные массивы для следующего кадра
+     */
+    public void clear() {
+        count = 0;
+        textures.clear();
+    }
+
+    /**
+     * Регистрирует текстуру кадра и возвращает ее номер
+     */
+    public int addTexture(Texture texture) {
+        int last = textures.size() - 1;
+        if (last >= 0 && textures.get(last) == texture) {
+            return last;
+        }
+        textures.add(texture);
+        return textures.size() - 1;
+    }
+
+    Texture getTexture(int slot) {
+        return slot >= 0 ? textures.get(slot) : null;
+    }
+
+    /**
+     * Резервирует треугольник; вершины затем задаются через setVertex
+     * @return индекс первой из трех вершин треугольника
+     */
+    public int addTriangle(int rgb, int texture) {
+        ensureCapacity(count + 1);
+        color[count] = rgb;
+        textureSlot[count] = texture;
+        return count++ * 3;
+    }
+
+    public void setVertex(int i, float sx, float sy, float depth,
+                          float normalX, float normalY, float normalZ,
+                          float texU, float texV) {
+        x[i] = sx;
+        y[i] = sy;
+        z[i] = depth;
+        nx[i] = normalX;
+        ny[i] = normalY;
+        nz[i] = normalZ;
+        u[i] = texU;
+        v[i] = texV;
+    }
+
+    /**
+     * Задает освещенность вершины, вычисленную на этапе преобразования (режим GOURAUD)
+     */
+    public void setLight(int i, float value) {
+        light[i] = value;
+    }
+
+    public int size() {
+        return count;
+    }
+}
@@ -0,0 +1,201 @@
+package render;
+
+import math.Frustum;
+import math.Plane;
+import model.Model;
+
+/**
+ * Отсечение треугольников в пространстве камеры алгоритмом Сазерленда-Ходжмана.
+ * Ближняя плоскость отсекает точно (после нее w >= near и проекция корректна),
+ * боковые плоскости образуют защитную полосу (guard band) вокруг экрана: треугольники,
+ * выходящие за экран, но не за полосу, растеризатор обрезает сам, а дальше полосы
+ * координаты ограничиваются, чтобы не переполнять фиксированную точку и не обходить огромные области.
+ */
+public class TriangleClipper {
+    /** Ширина защитной полосы вокруг экрана в пикселях */
+    public static final int GUARD_BAND = 4096;
+    /** Бит ближней плоскости в кодах отсечения вершин */
+    public static final int NEAR_MASK = 1;
+
+    // Плоскости, по которым выполняется отсечение (дальняя не используется)
+    private static final Frustum.PlaneType[] CLIP_PLANES = {
+        Frustum.PlaneType.NEAR,
+        Frustum.PlaneType.LEFT,
+        Frustum.PlaneType.RIGHT,
+        Frustum.PlaneType.BOTTOM,
+        Frustum.PlaneType.TOP
+    };
+
+    // Атрибуты вершины многоугольника: координаты камеры, нормаль, UV, освещенность (Гуро)
+    private static final int X = 0, Y = 1, W = 2, NX = 3, NY = 4, NZ = 5, U = 6, V = 7, LIGHT = 8;
+    private static final int STRIDE = 9;
+    // Треугольник после отсечения пятью плоскостями имеет не более 3 + 5 вершин
+    private static final int MAX_VERTICES = 3 + 5;
+
+    private final Frustum frustum = new Frustum();
+    private final float[] planeX = new float[CLIP_PLANES.length];
+    private final float[] planeY = new float[CLIP_PLANES.length];
+    private final float[] planeW = new float[CLIP_PLANES.length];
+    private final float[] planeD = new float[CLIP_PLANES.length];
+
+    private float[] polygon = new float[MAX_VERTICES * STRIDE];
+    private float[] scratch = new float[MAX_VERTICES * STRIDE];
+    private int vertexCount;
+
+    private final float[] screenX = new float[MAX_VERTICES];
+    private final float[] screenY = new float[MAX_VERTICES];
+    private final float[] depth = new float[MAX_VERTICES];
+
+    /**
+     * Обновляет плоскости отсечения для кадра размером width x height
+     */
+    public void update(ViewTransform view, int width, int height) {
+        view.updateClipFrustum(frustum, -GUARD_BAND, -GUARD_BAND, width + GUARD_BAND, height + GUARD_BAND);
+        for (int p = 0; p < CLIP_PLANES.length; p++) {
+            Plane plane = frustum.getPlane(CLIP_PLANES[p]);
+            planeX[p] = plane.normal.x;
+            planeY[p] = plane.normal.y;
+            planeW[p] = plane.normal.z;
+            planeD[p] = plane.distance;
+        }
+    }
+
+    /**
+     * Вычисляет для каждой вершины маску плоскостей, снаружи которых она лежит.
+     * Бит 0 - ближняя плоскость, далее боковые в порядке LEFT, RIGHT, BOTTOM, TOP.
+     */
+    public void computeClipCodes(TransformedVertices vertices) {
+        float[] cx = vertices.getCameraX();
+        float[] cy = vertices.getCameraY();
+        float[] cw = vertices.getW();
+        int[] codes = vertices.getClipCodes();
+        int count = vertices.size();
+        for (int i = 0; i < count; i++) {
+            int code = 0;
+            for (int p = 0; p < CLIP_PLANES.length; p++) {
+                if (planeX[p] * cx[i] + planeY[p] * cy[i] + planeW[p] * cw[i] + planeD[p] < 0) {
+                    code |= 1 << p;
+                }
+            }
+            codes[i] = code;
+        }
+    }
+
+    /**
+     * Отсекает треугольник и проецирует результат на экран
+     * @return число вершин выпуклого многоугольника (0, если треугольник полностью отсечен)
+     */
+    public int clip(TransformedVertices transformed, Model model,
+                    int i0, int i1, int i2, ViewTransform view) {
+        int[] codes = transformed.getClipCodes();
+        int planes = codes[i0] | codes[i1] | codes[i2];
+
+        vertexCount = 3;
+        load(0, transformed, model, i0);
+        load(1, transformed, model, i1);
+        load(2, transformed, model, i2);
+
+        for (int p = 0; p < CLIP_PLANES.length && vertexCount > 0; p++) {
+            if ((planes & (1 << p)) != 0) {
+                clipAgainst(p);
+            }
+        }
+
+        if (vertexCount < 3) {
+            vertexCount = 0;
+            return 0;
+        }
+        for (int k = 0; k < vertexCount; k++) {
+            int o = k * STRIDE;
+            float w = polygon[o + W];
+            screenX[k] = view.projectX(polygon[o + X], w);
+            screenY[k] = view.projectY(polygon[o + Y], w);
+            depth[k] = view.depth(w);
+        }
+        return vertexCount;
+    }
+
+    private void load(int k, TransformedVertices transformed, Model model, int index) {
+        int o = k * STRIDE;
+        polygon[o + X] = transformed.getCameraX()[index];
+        polygon[o + Y] = transformed.getCameraY()[index];
+        polygon[o + W] = transformed.getW()[index];
+        polygon[o + NX] = model.getVertexNx(index);
+        polygon[o + NY] = model.getVertexNy(index);
+        polygon[o + NZ] = model.getVertexNz(index);
+        polygon[o + U] = model.getVertexU(index);
+        polygon[o + V] = model.getVertexV(index);
+        polygon[o + LIGHT] = transformed.getLight()[index];
+    }
+
+    /**
+     * Один шаг Сазерленда-Ходжмана: оставляет часть многоугольника с неотрицательным расстоянием до плоскости
+     */
+    private void clipAgainst(int p) {
+        int outCount = 0;
+        int prev = vertexCount - 1;
+        float prevDistance = distance(p, prev);
+        for (int k = 0; k < vertexCount; k++) {
+            float d = distance(p, k);
+            if ((d >= 0) != (prevDistance >= 0)) {
+                // Ребро пересекает плоскость - добавляем точку пересечения
+                float t = prevDistance / (prevDistance - d);
+                int a = prev * STRIDE, b = k * STRIDE, o = outCount * STRIDE;
+                for (int c = 0; c < STRIDE; c++) {
+                    scratch[o + c] = polygon[a + c] + (polygon[b + c] - polygon[a + c]) * t;
+                }
+                outCount++;
+            }
+            if (d >= 0) {
+                System.arraycopy(polygon, k * STRIDE, scratch, outCount * STRIDE, STRIDE);
+                outCount++;
+            }
+            prev = k;
+            prevDistance = d;
+        }
+
+        float[] swap = polygon;
+        polygon = scratch;
+        scratch = swap;
+        vertexCount = outCount;
+    }
+
+    private float distance(int p, int k) {
+        int o = k * STRIDE;
+        return planeX[p] * polygon[o + X] + planeY[p] * polygon[o + Y] + planeW[p] * polygon[o + W] + planeD[p];
+    }
+
+    /**
+     * Удвоенная ориентированная площадь спроецированного многоугольника
+     * (положительная - обход по часовой стрелке на экране)
+     */
+    public float screenArea() {
+        float area = 0;
+        for (int k = 1; k + 1 < vertexCount; k++) {
+            area += (screenX[k] - screenX[0]) * (screenY[k + 1] - screenY[0])
+                  - (screenY[k] - screenY[0]) * (screenX[k + 1] - screenX[0]);
+        }
+        return area;
+    }
+
+    /**
+     * Добавляет отсеченный многоугольник в пакет веером треугольников
+     * @return число добавленных треугольников
+     */
+    public int emit(TriangleBatch batch, int color, int textureSlot) {
+        for (int k = 1; k + 1 < vertexCount; k++) {
+            int base = batch.addTriangle(color, textureSlot);
+            setVertex(batch, base, 0);
+            setVertex(batch, base + 1, k);
+            setVertex(batch, base + 2, k + 1);
+        }
+        return Math.max(vertexCount - 2, 0);
+    }
+
+    private void setVertex(TriangleBatch batch, int index, int k) {
+        int o = k * STRIDE;
+        batch.setVertex(index, screenX[k], screenY[k], depth[k],
+            polygon[o + NX], polygon[o + NY], polygon[o + NZ], polygon[o + U], polygon[o + V]);
+        batch.setLight(index, polygon[o + LIGHT]);
+    }
+}
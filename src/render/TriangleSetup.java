@@ -0,0 +1,140 @@
+package render;
+
+import java.util.Arrays;
+
+/**
+ * Этап подготовки треугольников: уравнения ребер в фиксированной точке.
+ * Координаты вершин переводятся в субпиксели (SUBPIXEL_BITS бит дробной части),
+ * для каждого ребра вычисляются коэффициенты E(x, y) = A*x + B*y + C, которые затем
+ * инкрементально шагаются по x и y. Правило заполнения top-left: пиксель на общем ребре
+ * принадлежит ровно одному из двух треугольников, поэтому сетка рисуется без щелей и двойной закраски.
+ */
+public class TriangleSetup {
+    public static final int SUBPIXEL_BITS = 4;
+    public static final int SUBPIXEL_ONE = 1 << SUBPIXEL_BITS;
+    public static final int SUBPIXEL_HALF = SUBPIXEL_ONE >> 1;
+    // Предел экранных координат, при котором произведения в long не переполняются
+    private static final double MAX_COORDINATE = 1 << 20;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Коэффициенты трех ребер: ребро 0 противолежит вершине 0 и т.д.; C уже содержит смещение top-left
+    long[] edgeA = new long[INITIAL_CAPACITY * 3];
+    long[] edgeB = new long[INITIAL_CAPACITY * 3];
+    long[] edgeC = new long[INITIAL_CAPACITY * 3];
+    // 1 / удвоенная площадь в субпикселях для барицентрических координат
+    double[] invArea = new double[INITIAL_CAPACITY];
+    // Ограничивающий прямоугольник в пикселях, уже обрезанный по экрану
+    int[] minX = new int[INITIAL_CAPACITY];
+    int[] minY = new int[INITIAL_CAPACITY];
+    int[] maxX = new int[INITIAL_CAPACITY];
+    int[] maxY = new int[INITIAL_CAPACITY];
+    // Номер треугольника в TriangleBatch
+    int[] triangle = new int[INITIAL_CAPACITY];
+    int count;
+
+    /**
+     * Подготавливает все треугольники пакета; вырожденные и полностью внеэкранные отбрасываются
+     * @return число подготовленных треугольников
+     */
+    public int build(TriangleBatch batch, int width, int height) {
+        count = 0;
+        for (int t = 0; t < batch.count; t++) {
+            setup(batch, t, width, height);
+        }
+        return count;
+    }
+
+    private void setup(TriangleBatch b, int t, int width, int height) {
+        int i0 = t * 3;
+        for (int k = 0; k < 3; k++) {
+            if (!(Math.abs(b.x[i0 + k]) < MAX_COORDINATE && Math.abs(b.y[i0 + k]) < MAX_COORDINATE)) {
+                return;
+            }
+        }
+        long x0 = toFixed(b.x[i0]), y0 = toFixed(b.y[i0]);
+        long x1 = toFixed(b.x[i0 + 1]), y1 = toFixed(b.y[i0 + 1]);
+        long x2 = toFixed(b.x[i0 + 2]), y2 = toFixed(b.y[i0 + 2]);
+
+        long bx0 = Math.max(0, Math.min(Math.min(x0, x1), x2) >> SUBPIXEL_BITS);
+        long bx1 = Math.min(width - 1, Math.max(Math.max(x0, x1), x2) >> SUBPIXEL_BITS);
+        long by0 = Math.max(0, Math.min(Math.min(y0, y1), y2) >> SUBPIXEL_BITS);
+        long by1 = Math.min(height - 1, Math.max(Math.max(y0, y1), y2) >> SUBPIXEL_BITS);
+        if (bx0 > bx1 || by0 > by1) return;
+
+        // Ребро (a -> b): A = ay - by, B = bx - ax, C = ax*by - ay*bx
+        long a0 = y1 - y2, b0 = x2 - x1, c0 = x1 * y2 - y1 * x2;
+        long a1 = y2 - y0, b1 = x0 - x2, c1 = x2 * y0 - y2 * x0;
+        long a2 = y0 - y1, b2 = x1 - x0, c2 = x0 * y1 - y0 * x1;
+        long area = a0 * x0 + b0 * y0 + c0;
+        if (area == 0) return;
+        if (area < 0) {
+            // Приводим обход к положительной площади, веса вершин при этом не меняются
+            a0 = -a0; b0 = -b0; c0 = -c0;
+            a1 = -a1; b1 = -b1; c1 = -c1;
+            a2 = -a2; b2 = -b2; c2 = -c2;
+            area = -area;
+        }
+
+        ensureCapacity(count + 1);
+        int s = count;
+        int e = s * 3;
+        setEdge(e, a0, b0, c0);
+        setEdge(e + 1, a1, b1, c1);
+        setEdge(e + 2, a2, b2, c2);
+        invArea[s] = 1.0 / area;
+        minX[s] = (int) bx0;
+        maxX[s] = (int) bx1;
+        minY[s] = (int) by0;
+        maxY[s] = (int) by1;
+        triangle[s] = t;
+        count++;
+    }
+
+    private void setEdge(int e, long a, long b, long c) {
+        // Top-left: верхнее ребро (горизонтальное, идет вправо) или левое (идет вверх) включается,
+        // остальные ребра исключаются сдвигом на минимальную единицу
+        boolean topLeft = a > 0 || (a == 0 && b > 0);
+        edgeA[e] = a;
+        edgeB[e] = b;
+        edgeC[e] = topLeft ? c : c - 1;
+    }
+
+    private static long toFixed(float value) {
+        return Math.round((double) value * SUBPIXEL_ONE);
+    }
+
+    /**
+     * Проверяет, покрывает ли подготовленный треугольник центр пикселя (x, y)
+     */
+    public boolean covers(int s, int x, int y) {
+        long px = ((long) x << SUBPIXEL_BITS) + SUBPIXEL_HALF;
+        long py = ((long) y << SUBPIXEL_BITS) + SUBPIXEL_HALF;
+        int e = s * 3;
+        for (int k = 0; k < 3; k++) {
+            if (edgeA[e + k] * px + edgeB[e + k] * py + edgeC[e + k] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private void ensureCapacity(int triangles) {
+        if (triangles <= invArea.length) {
+            return;
+        }
+        int newCapacity = Math.max(triangles, invArea.length * 2);
+        edgeA = Arrays.copyOf(edgeA, newCapacity * 3);
+        edgeB = Arrays.copyOf(edgeB, newCapacity * 3);
+        edgeC = Arrays.copyOf(edgeC, newCapacity * 3);
+        invArea = Arrays.copyOf(invArea, newCapacity);
+        minX = Arrays.copyOf(minX, newCapacity);
+        minY = Arrays.copyOf(minY, newCapacity);
+        maxX = Arrays.copyOf(maxX, newCapacity);
+        maxY = Arrays.copyOf(maxY, newCapacity);
+        triangle = Arrays.copyOf(triangle, newCapacity);
+    }
+}
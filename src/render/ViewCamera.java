@@ -0,0 +1,66 @@
+package render;
+
+import math.Vector3f;
+import model.Texture;
+
+/**
+ * Параметры орбитальной камеры просмотрщика для одного кадра.
+ * Снимок передается рендереру целиком, поэтому кадр не зависит от дальнейших изменений камеры.
+ */
+public class ViewCamera {
+    // Углы поворота камеры (радианы)
+    public float rotationX = 0;
+    public float rotationY = 0;
+    // Расстояние от камеры до центра сцены
+    public float distance = 10.0f;
+    // Точка, на которую смотрит камера
+    public Vector3f target = new Vector3f(0, 0, 0);
+    // Смещение изображения на экране (пиксели)
+    public double offsetX = 0;
+    public double offsetY = 0;
+    // Ближняя плоскость отсечения
+    public float nearPlane = 0.1f;
+    // Соглашение буфера глубины (см. DepthBuffer.setConvention)
+    public String zBufferFormat = DepthBuffer.REVERSE_FORMAT;
+    public String depthCompareFunc = DepthBuffer.COMPARE_GREATER;
+    // Фильтрация текстур кадра
+    public Texture.Filter textureFilter = Texture.Filter.BILINEAR;
+    // Режим закраски кадра
+    public Shading.Mode shadingMode = Shading.Mode.PHONG;
+    // Стиль изображения: закраска или каркас
+    public SceneRenderer.Style style = SceneRenderer.Style.SOLID;
+
+    public ViewCamera copy() {
+        ViewCamera copy = new ViewCamera();
+        copy.rotationX = this.rotationX;
+        copy.rotationY = this.rotationY;
+        copy.distance = this.distance;
+        copy.target = new Vector3f(target.x, target.y, target.z);
+        copy.offsetX = this.offsetX;
+        copy.offsetY = this.offsetY;
+        copy.nearPlane = this.nearPlane;
+        copy.zBufferFormat = this.zBufferFormat;
+        copy.depthCompareFunc = this.depthCompareFunc;
+        copy.textureFilter = this.textureFilter;
+        copy.shadingMode = this.shadingMode;
+        copy.style = this.style;
+        return copy;
+    }
+
+    /**
+     * Совпадают ли параметры, влияющие на изображение
+     */
+    public boolean sameView(ViewCamera other) {
+        return other != null
+            && rotationX == other.rotationX && rotationY == other.rotationY
+            && distance == other.distance
+            && target.x == other.target.x && target.y == other.target.y && target.z == other.target.z
+            && offsetX == other.offsetX && offsetY == other.offsetY
+            && nearPlane == other.nearPlane
+            && zBufferFormat.equals(other.zBufferFormat)
+            && depthCompareFunc.equals(other.depthCompareFunc)
+            && textureFilter == other.textureFilter
+            && shadingMode == other.shadingMode
+            && style == other.style;
+    }
+}
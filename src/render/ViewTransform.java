@@ -0,0 +1,128 @@
+package render;
+
+import math.Frustum;
+import math.Vector3f;
+import model.Model;
+
+/**
+ * Преобразование вершин в экранные координаты для простой орбитальной камеры.
+ * Поворот камеры (sin/cos углов) и параметры проекции вычисляются один раз на кадр,
+ * после чего каждая вершина модели преобразуется ровно один раз.
+ */
+public class ViewTransform {
+    private double shiftX, shiftY, shiftZ;
+    private double cosYaw, sinYaw, cosPitch, sinPitch;
+    private double scale;
+    private double cameraDistance;
+    private double originX, originY;
+    private double near;
+    private DepthBuffer depthBuffer;
+
+    /**
+     * Задает камеру кадра
+     * @param centerX центр сцены, относительно которого строится вид
+     * @param target точка, на которую смотрит камера
+     * @param originX экранная точка, в которую проецируется ось камеры (с учетом смещения)
+     */
+    public void set(double rotationX, double rotationY,
+                    double centerX, double centerY, double centerZ, Vector3f target,
+                    double scale, double cameraDistance,
+                    double originX, double originY,
+                    DepthBuffer depthBuffer, double near) {
+        // Центрируем относительно центра и применяем смещение камеры от центра к target
+        this.shiftX = centerX + (centerX - target.x);
+        this.shiftY = centerY + (centerY - target.y);
+        this.shiftZ = centerZ + (centerZ - target.z);
+        this.cosYaw = Math.cos(-rotationY);
+        this.sinYaw = Math.sin(-rotationY);
+        this.cosPitch = Math.cos(-rotationX);
+        this.sinPitch = Math.sin(-rotationX);
+        this.scale = scale;
+        this.cameraDistance = cameraDistance;
+        this.originX = originX;
+        this.originY = originY;
+        this.depthBuffer = depthBuffer;
+        this.near = near;
+    }
+
+    /**
+     * Преобразует все вершины модели в out (последовательный проход по массиву позиций модели)
+     */
+    public void transform(Model model, TransformedVertices out) {
+        int count = model.getVertexCount();
+        out.ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            transformVertex(i, model.getVertexX(i), model.getVertexY(i), model.getVertexZ(i), out);
+        }
+    }
+
+    private void transformVertex(int i, double vx, double vy, double vz, TransformedVertices out) {
+        double x = vx - shiftX;
+        double y = vy - shiftY;
+        double z = vz - shiftZ;
+
+        // Вращение вокруг Y (yaw), затем вокруг X (pitch)
+        double x1 = x * cosYaw - z * sinYaw;
+        double z1 = x * sinYaw + z * cosYaw;
+        double y1 = y * cosPitch - z1 * sinPitch;
+        double z2 = y * sinPitch + z1 * cosPitch;
+
+        // Простая перспективная проекция
+        double w = cameraDistance + z2;
+        double perspective = cameraDistance / w;
+        out.set(i,
+                (float) (originX + x1 * scale * perspective),
+                (float) (originY - y1 * scale * perspective),
+                depthBuffer.depthFromW(w, near),
+                (float) w, (float) x1, (float) y1);
+    }
+
+    /**
+     * Переводит точку мира в пространство камеры (x, y, w); поворот и сдвиг сохраняют расстояния,
+     * поэтому радиусы ограничивающих сфер не меняются
+     */
+    public Vector3f toCameraSpace(Vector3f point) {
+        double x = point.x - shiftX;
+        double y = point.y - shiftY;
+        double z = point.z - shiftZ;
+        double x1 = x * cosYaw - z * sinYaw;
+        double z1 = x * sinYaw + z * cosYaw;
+        double y1 = y * cosPitch - z1 * sinPitch;
+        double z2 = y * sinPitch + z1 * cosPitch;
+        return new Vector3f((float) x1, (float) y1, (float) (cameraDistance + z2));
+    }
+
+    /**
+     * Строит в пространстве камеры пирамиду, проекция которой - прямоугольник экрана
+     * [minX, maxX] x [minY, maxY], с ближней плоскостью кадра
+     */
+    public void updateClipFrustum(Frustum frustum, double minX, double minY, double maxX, double maxY) {
+        double focal = scale * cameraDistance;
+        frustum.updateFromBounds(
+            (float) ((minX - originX) / focal),
+            (float) ((maxX - originX) / focal),
+            (float) ((originY - maxY) / focal),
+            (float) ((originY - minY) / focal),
+            (float) near, Float.MAX_VALUE);
+    }
+
+    /** Экранная координата X точки пространства камеры */
+    public float projectX(float cameraX, float w) {
+        return (float) (originX + cameraX * scale * (cameraDistance / w));
+    }
+
+    /** Экранная координата Y точки пространства камеры */
+    public float projectY(float cameraY, float w) {
+        return (float) (originY - cameraY * scale * (cameraDistance / w));
+    }
+
+    /** Расстояние до ближней плоскости */
+    public float getNear() {
+        return (float) near;
+    }
+
+    /** Значение глубины для расстояния w */
+    public float depth(float w) {
+        return depthBuffer.depthFromW(w, near);
+    }
+}
@@ -9,6 +9,10 @@ public class PerformanceMonitor {
     private long collisionTime;
     private long projectionTime;
     private long interpolationTime;
+    private int trianglesSubmitted;
+    private int trianglesCulled;
+    private int trianglesClipped;
+    private int modelsCulled;
     
     private final Queue<Float> fpsHistory = new LinkedList<>();
     private final Queue<Long> frameTimeHistory = new LinkedList<>();
@@ -20,6 +24,10 @@ public class PerformanceMonitor {
         collisionTime = 0;
         projectionTime = 0;
         interpolationTime = 0;
+        trianglesSubmitted = 0;
+        trianglesCulled = 0;
+        trianglesClipped = 0;
+        modelsCulled = 0;
     }
     
     public void startPhysics() {
@@ -32,6 +40,22 @@ public class PerformanceMonitor {
         }
     }
     
+    public void addSubmittedTriangles(int count) {
+        trianglesSubmitted += count;
+    }
+    
+    public void addCulledTriangles(int count) {
+        trianglesCulled += count;
+    }
+    
+    public void addClippedTriangles(int count) {
+        trianglesClipped += count;
+    }
+    
+    public void addCulledModel() {
+        modelsCulled++;
+    }
+    
     
     public void endFrame() {
         long frameTime = System.nanoTime() - frameStartTime;
@@ -64,7 +88,11 @@ public class PerformanceMonitor {
             physicsTime / 1_000_000f,
             collisionTime / 1_000_000f,
             projectionTime / 1_000_000f,
-            interpolationTime / 1_000_000f
+            interpolationTime / 1_000_000f,
+            trianglesSubmitted,
+            trianglesCulled,
+            trianglesClipped,
+            modelsCulled
         );
     }
     
@@ -75,16 +103,26 @@ public class PerformanceMonitor {
         public final float collisionTimeMs;
         public final float projectionTimeMs;
         public final float interpolationTimeMs;
+        public final int trianglesSubmitted;
+        public final int trianglesCulled;
+        public final int trianglesClipped;
+        public final int modelsCulled;
         
         public FrameStats(float fps, float frameTimeMs,
                          float physicsTimeMs, float collisionTimeMs,
-                         float projectionTimeMs, float interpolationTimeMs) {
+                         float projectionTimeMs, float interpolationTimeMs,
+                         int trianglesSubmitted, int trianglesCulled,
+                         int trianglesClipped, int modelsCulled) {
             this.fps = fps;
             this.frameTimeMs = frameTimeMs;
             this.physicsTimeMs = physicsTimeMs;
             this.collisionTimeMs = collisionTimeMs;
             this.projectionTimeMs = projectionTimeMs;
             this.interpolationTimeMs = interpolationTimeMs;
+            this.trianglesSubmitted = trianglesSubmitted;
+            this.trianglesCulled = trianglesCulled;
+            this.trianglesClipped = trianglesClipped;
+            this.modelsCulled = modelsCulled;
         }
     }
 }
\ No newline at end of file
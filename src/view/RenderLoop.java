@@ -0,0 +1,204 @@
+package view;
+
+import model.Scene;
+import physics.field.FieldPhysicsEngine.PhysicsUpdateResult;
+import render.FrameBuffer;
+import render.SceneRenderer;
+import render.ViewCamera;
+import utils.PerformanceMonitor;
+
+/**
+ * Поток рендеринга вне EDT с тройной буферизацией кадров.
+ * EDT только ставит запросы кадров и выводит последний готовый кадр;
+ * поток рендеринга рисует в свободный буфер. Из нескольких запросов выполняется последний,
+ * а кадр, для которого уже пришел более новый запрос, бросается - но не более
+ * MAX_ABANDONED_FRAMES раз подряд, чтобы задержка от ввода до изображения была ограничена.
+ */
+public class RenderLoop implements Runnable {
+    private static final int MAX_ABANDONED_FRAMES = 2;
+
+    private final Scene scene;
+    private final Object sceneLock;
+    private final Runnable onFrameReady;
+    private final SceneRenderer sceneRenderer = new SceneRenderer();
+
+    // Три буфера: выводимый на экран, последний готовый и рисуемый
+    private final Frame[] frames = {new Frame(), new Frame(), new Frame()};
+    private int readyIndex = -1;
+    private int displayedIndex = -1;
+
+    private volatile FrameRequest pendingRequest;
+    private volatile boolean running = true;
+    private int abandonedInRow;
+    private int sceneVersion = -1;
+    private Thread thread;
+
+    /**
+     * @param sceneLock блокировка, под которой меняется сцена; удерживается только на этапе чтения сцены
+     * @param onFrameReady вызывается из потока рендеринга, когда готов новый кадр
+     */
+    public RenderLoop(Scene scene, Object sceneLock, Runnable onFrameReady) {
+        this.scene = scene;
+        this.sceneLock = sceneLock;
+        this.onFrameReady = onFrameReady;
+    }
+
+    public void start() {
+        thread = new Thread(this, "RenderLoop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Ставит запрос кадра, заменяя еще не начатый предыдущий
+     */
+    public synchronized void requestFrame(FrameRequest request) {
+        pendingRequest = request;
+        notifyAll();
+    }
+
+    /**
+     * Возвращает последний готовый кадр для вывода на экран (null, пока нет ни одного).
+     * Буфер возвращенного кадра не перезаписывается до следующего вызова.
+     */
+    public Frame acquireFrame() {
+        synchronized (frames) {
+            if (readyIndex >= 0) {
+                displayedIndex = readyIndex;
+                readyIndex = -1;
+            }
+            return displayedIndex >= 0 ? frames[displayedIndex] : null;
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            FrameRequest request;
+            try {
+                request = takeRequest();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                renderFrame(request);
+            } catch (Exception e) {
+                // Ошибка одного кадра не должна останавливать поток рендеринга
+                System.err.println("Render error: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private synchronized FrameRequest takeRequest() throws InterruptedException {
+        while (pendingRequest == null) {
+            wait();
+        }
+        FrameRequest request = pendingRequest;
+        pendingRequest = null;
+        return request;
+    }
+
+    private boolean isStale() {
+        return pendingRequest != null && abandonedInRow < MAX_ABANDONED_FRAMES;
+    }
+
+    private void renderFrame(FrameRequest request) {
+        int index = acquireBackIndex();
+        Frame frame = frames[index];
+
+        boolean built;
+        synchronized (sceneLock) {
+            if (request.sceneVersion != sceneVersion) {
+                sceneRenderer.resetView();
+                sceneVersion = request.sceneVersion;
+            }
+            built = sceneRenderer.build(scene, request.camera, request.physics, frame.buffer,
+                request.width, request.height, request.background, this::isStale);
+        }
+        // Растеризация - самая дорогая часть кадра, перед ней еще раз проверяем актуальность
+        if (!built || isStale()) {
+            abandonedInRow++;
+            return;
+        }
+        sceneRenderer.rasterize();
+        abandonedInRow = 0;
+
+        frame.width = request.width;
+        frame.height = request.height;
+        frame.scale = sceneRenderer.getScale();
+        frame.stats = sceneRenderer.getFrameStats();
+        frame.latencyMs = (System.nanoTime() - request.timestamp) / 1_000_000f;
+        synchronized (frames) {
+            readyIndex = index;
+        }
+        onFrameReady.run();
+    }
+
+    private int acquireBackIndex() {
+        synchronized (frames) {
+            for (int i = 0; i < frames.length; i++) {
+                if (i != readyIndex && i != displayedIndex) {
+                    return i;
+                }
+            }
+        }
+        throw new IllegalStateException("No free frame buffer");
+    }
+
+    /**
+     * Запрос кадра: снимок всего, что нужно для рендеринга, сделанный в EDT
+     */
+    public static class FrameRequest {
+        public final ViewCamera camera;
+        public final PhysicsUpdateResult physics;
+        public final int width;
+        public final int height;
+        public final int background;
+        public final int sceneVersion;
+        public final long timestamp;
+
+        public FrameRequest(ViewCamera camera, PhysicsUpdateResult physics,
+                            int width, int height, int background, int sceneVersion) {
+            this.camera = camera;
+            this.physics = physics;
+            this.width = width;
+            this.height = height;
+            this.background = background;
+            this.sceneVersion = sceneVersion;
+            this.timestamp = System.nanoTime();
+        }
+
+        /**
+         * Дает ли запрос то же изображение, что и other (при неизменной сцене).
+         * Результат физики обновляется каждый тик, но в простом режиме влияет на кадр
+         * только через соглашение глубины камеры, поэтому не сравнивается.
+         */
+        public boolean sameFrame(FrameRequest other) {
+            return other != null
+                && camera.sameView(other.camera)
+                && width == other.width && height == other.height
+                && background == other.background
+                && sceneVersion == other.sceneVersion;
+        }
+    }
+
+    /**
+     * Готовый кадр и его статистика
+     */
+    public static class Frame {
+        public final FrameBuffer buffer = new FrameBuffer();
+        public int width;
+        public int height;
+        public double scale;
+        public float latencyMs;
+        public PerformanceMonitor.FrameStats stats;
+    }
+}
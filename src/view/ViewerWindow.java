@@ -4,12 +4,15 @@ import model.*;
 import io.ObjReader;
 import io.ObjWriter;
 import io.ObjReaderException;
+import render.SceneRenderer;
+import render.Shading;
 
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.File;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -24,6 +27,8 @@ public class ViewerWindow extends JFrame {
     private JButton deletePolygonButton;
     private JSpinner vertexSpinner;
     private JSpinner polygonSpinner;
+    private JTextField bulkIndicesField;
+    private JComboBox<Model.CullMode> cullModeCombo;
     private boolean darkTheme = false;
     
     // Цвета для светлой темы
@@ -132,9 +137,12 @@ public class ViewerWindow extends JFrame {
             if (!e.getValueIsAdjusting()) {
                 int selectedIndex = modelList.getSelectedIndex();
                 if (selectedIndex >= 0) {
-                    scene.setActiveModel(selectedIndex);
+                    synchronized (modelRenderer.getSceneLock()) {
+                        scene.setActiveModel(selectedIndex);
+                    }
                     updateVertexAndPolygonSpinners();
-                    modelRenderer.repaint();
+                    updateCullModeSelector();
+                    modelRenderer.requestRender();
                 }
             }
         });
@@ -189,6 +197,79 @@ public class ViewerWindow extends JFrame {
 
         panel.add(polygonPanel);
 
+        // Пакетное удаление по диапазонам и спискам индексов
+        JPanel bulkPanel = new JPanel(new BorderLayout());
+        bulkPanel.setBorder(BorderFactory.createTitledBorder("Delete Ranges"));
+
+        bulkIndicesField = new JTextField(14);
+        bulkIndicesField.setToolTipText("Indices and ranges, e.g. 0-99, 150, 200-210");
+        JPanel bulkFieldPanel = new JPanel(new FlowLayout());
+        bulkFieldPanel.add(new JLabel("Indices:"));
+        bulkFieldPanel.add(bulkIndicesField);
+        bulkPanel.add(bulkFieldPanel, BorderLayout.NORTH);
+
+        JButton deleteVerticesButton = new JButton("Vertices");
+        deleteVerticesButton.addActionListener(e -> deleteIndexSet(true));
+        JButton deletePolygonsButton = new JButton("Polygons");
+        deletePolygonsButton.addActionListener(e -> deleteIndexSet(false));
+        JPanel bulkButtonPanel = new JPanel(new FlowLayout());
+        bulkButtonPanel.add(deleteVerticesButton);
+        bulkButtonPanel.add(deletePolygonsButton);
+        bulkPanel.add(bulkButtonPanel, BorderLayout.SOUTH);
+
+        panel.add(bulkPanel);
+
+        // Отсечение нелицевых граней активной модели
+        JPanel cullingPanel = new JPanel(new FlowLayout());
+        cullingPanel.setBorder(BorderFactory.createTitledBorder("Back-face Culling"));
+
+        cullModeCombo = new JComboBox<>(Model.CullMode.values());
+        cullModeCombo.addActionListener(e -> {
+            if (scene.hasActiveModel()) {
+                synchronized (modelRenderer.getSceneLock()) {
+                    scene.getActiveModel().setCullMode((Model.CullMode) cullModeCombo.getSelectedItem());
+                }
+                modelRenderer.requestRender();
+            }
+        });
+        cullingPanel.add(new JLabel("Cull:"));
+        cullingPanel.add(cullModeCombo);
+
+        panel.add(cullingPanel);
+
+        // Режим закраски
+        JPanel shadingPanel = new JPanel(new FlowLayout());
+        shadingPanel.setBorder(BorderFactory.createTitledBorder("Shading"));
+
+        JComboBox<Shading.Mode> shadingCombo = new JComboBox<>(Shading.Mode.values());
+        shadingCombo.setSelectedItem(modelRenderer.getShadingMode());
+        shadingCombo.addActionListener(e ->
+            modelRenderer.setShadingMode((Shading.Mode) shadingCombo.getSelectedItem()));
+        shadingPanel.add(new JLabel("Mode:"));
+        shadingPanel.add(shadingCombo);
+
+        JComboBox<SceneRenderer.Style> styleCombo = new JComboBox<>(SceneRenderer.Style.values());
+        styleCombo.setSelectedItem(modelRenderer.getStyle());
+        styleCombo.addActionListener(e ->
+            modelRenderer.setStyle((SceneRenderer.Style) styleCombo.getSelectedItem()));
+        shadingPanel.add(new JLabel("Style:"));
+        shadingPanel.add(styleCombo);
+
+        panel.add(shadingPanel);
+
+        // Фильтрация текстур
+        JPanel filterPanel = new JPanel(new FlowLayout());
+        filterPanel.setBorder(BorderFactory.createTitledBorder("Texture Filtering"));
+
+        JComboBox<Texture.Filter> filterCombo = new JComboBox<>(Texture.Filter.values());
+        filterCombo.setSelectedItem(modelRenderer.getTextureFilter());
+        filterCombo.addActionListener(e ->
+            modelRenderer.setTextureFilter((Texture.Filter) filterCombo.getSelectedItem()));
+        filterPanel.add(new JLabel("Filter:"));
+        filterPanel.add(filterCombo);
+
+        panel.add(filterPanel);
+
         panel.add(Box.createVerticalGlue());
 
         return panel;
@@ -246,11 +327,15 @@ public class ViewerWindow extends JFrame {
                     }
                 }
 
-                scene.addModel(model);
+                // Сцену меняем под блокировкой рендерера: кадр может строиться в другом потоке
+                synchronized (modelRenderer.getSceneLock()) {
+                    scene.addModel(model);
+                    scene.setActiveModel(scene.getModelCount() - 1);
+                }
                 updateModelList();
-                scene.setActiveModel(scene.getModelCount() - 1);
                 modelList.setSelectedIndex(scene.getActiveModelIndex());
                 updateVertexAndPolygonSpinners();
+                updateCullModeSelector();
                 modelRenderer.onSceneChanged();
                 modelRenderer.repaint();
 
@@ -336,7 +421,9 @@ public class ViewerWindow extends JFrame {
             JOptionPane.QUESTION_MESSAGE);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            scene.removeModel(selectedIndex);
+            synchronized (modelRenderer.getSceneLock()) {
+                scene.removeModel(selectedIndex);
+            }
             updateModelList();
             if (scene.hasActiveModel()) {
                 modelList.setSelectedIndex(scene.getActiveModelIndex());
@@ -344,6 +431,7 @@ public class ViewerWindow extends JFrame {
             } else {
                 updateVertexAndPolygonSpinners();
             }
+            updateCullModeSelector();
             modelRenderer.onSceneChanged();
             modelRenderer.repaint();
         }
@@ -377,7 +465,9 @@ public class ViewerWindow extends JFrame {
             JOptionPane.WARNING_MESSAGE);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            activeModel.removeVertex(vertexIndex);
+            synchronized (modelRenderer.getSceneLock()) {
+                activeModel.removeVertex(vertexIndex);
+            }
             updateVertexAndPolygonSpinners();
             modelRenderer.onSceneChanged();
             modelRenderer.repaint();
@@ -411,13 +501,94 @@ public class ViewerWindow extends JFrame {
             JOptionPane.QUESTION_MESSAGE);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            activeModel.removePolygon(polygonIndex);
+            synchronized (modelRenderer.getSceneLock()) {
+                activeModel.removePolygon(polygonIndex);
+            }
             updateVertexAndPolygonSpinners();
             modelRenderer.onSceneChanged();
             modelRenderer.repaint();
         }
     }
 
+    /**
+     * Удаляет вершины (vertices = true) или полигоны активной модели по списку из поля "Delete Ranges"
+     */
+    private void deleteIndexSet(boolean vertices) {
+        if (!scene.hasActiveModel()) {
+            JOptionPane.showMessageDialog(this,
+                "No active model. Please select a model first.",
+                "No Model Selected",
+                JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        Model activeModel = scene.getActiveModel();
+        int limit = vertices ? activeModel.getVertexCount() : activeModel.getPolygonCount();
+        BitSet indices;
+        try {
+            indices = parseIndexSet(bulkIndicesField.getText(), limit);
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(this,
+                e.getMessage(),
+                "Invalid Index",
+                JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (indices.isEmpty()) {
+            return;
+        }
+
+        String what = vertices ? "vertices" : "polygons";
+        int confirm = JOptionPane.showConfirmDialog(this,
+            "Delete " + indices.cardinality() + " " + what + "?" +
+            (vertices ? "\nAll polygons using these vertices will also be removed." : ""),
+            "Confirm Deletion",
+            JOptionPane.YES_NO_OPTION,
+            JOptionPane.WARNING_MESSAGE);
+
+        if (confirm == JOptionPane.YES_OPTION) {
+            synchronized (modelRenderer.getSceneLock()) {
+                if (vertices) {
+                    activeModel.removeVertices(indices);
+                } else {
+                    activeModel.removePolygons(indices);
+                }
+            }
+            updateVertexAndPolygonSpinners();
+            // Список перестраивается ради счетчиков вершин и полигонов в подписи; выделение восстанавливается
+            updateModelList();
+            modelList.setSelectedIndex(scene.getActiveModelIndex());
+            modelRenderer.onSceneChanged();
+            modelRenderer.repaint();
+        }
+    }
+
+    /**
+     * Разбирает список вида "0-99, 150, 200-210" (разделители - запятые и пробелы)
+     * @throws IllegalArgumentException при ошибке формата или индексе вне [0, limit)
+     */
+    private static BitSet parseIndexSet(String text, int limit) {
+        BitSet result = new BitSet();
+        for (String token : text.trim().split("[,\\s]+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            int dash = token.indexOf('-', 1);
+            int from, to;
+            try {
+                from = Integer.parseInt(token.substring(0, dash > 0 ? dash : token.length()));
+                to = dash > 0 ? Integer.parseInt(token.substring(dash + 1)) : from;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid index or range: " + token);
+            }
+            if (from < 0 || to >= limit || from > to) {
+                throw new IllegalArgumentException("Index out of range [0, " + (limit - 1) + "]: " + token);
+            }
+            result.set(from, to + 1);
+        }
+        return result;
+    }
+
     private void updateModelList() {
         listModel.clear();
         List<Model> models = scene.getModels();
@@ -451,6 +622,16 @@ public class ViewerWindow extends JFrame {
         }
     }
 
+    private void updateCullModeSelector() {
+        if (scene.hasActiveModel()) {
+            cullModeCombo.setEnabled(true);
+            cullModeCombo.setSelectedItem(scene.getActiveModel().getCullMode());
+        } else {
+            cullModeCombo.setEnabled(false);
+            cullModeCombo.setSelectedItem(Model.CullMode.NONE);
+        }
+    }
+
     private void toggleTheme() {
         darkTheme = !darkTheme;
         applyTheme();
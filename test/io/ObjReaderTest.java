@@ -0,0 +1,89 @@
+package test.io;
+
+import io.ObjReader;
+import model.Model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+public class ObjReaderTest {
+
+    private static int passed = 0;
+    private static int failed = 0;
+
+    private static void assertTrue(boolean condition, String message) {
+        if (condition) {
+            System.out.println("[PASSED] " + message);
+            passed++;
+        } else {
+            System.out.println("[FAILED] " + message);
+            failed++;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Запуск тестов ObjReaderTest ===\n");
+
+        testVertexWelding();
+        testSplitAttributes();
+
+        System.out.println("\n=== Итог: " + passed + " пройдено, " + failed + " провалено ===");
+    }
+
+    private static Model readObj(String... lines) throws Exception {
+        File file = File.createTempFile("reader", ".obj");
+        file.deleteOnExit();
+        try (PrintWriter writer = new PrintWriter(file)) {
+            for (String line : lines) {
+                writer.println(line);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return ObjReader.read(file.getPath());
+    }
+
+    private static void testVertexWelding() throws Exception {
+        System.out.println("Тест: testVertexWelding");
+
+        // Сетка 3x3 вершин из четырех четырехугольников: углы граней ссылаются на общие вершины
+        Model model = readObj(
+            "v 0 0 0", "v 1 0 0", "v 2 0 0",
+            "v 0 1 0", "v 1 1 0", "v 2 1 0",
+            "v 0 2 0", "v 1 2 0", "v 2 2 0",
+            "vn 0 0 1",
+            "f 1//1 2//1 5//1 4//1",
+            "f 2//1 3//1 6//1 5//1",
+            "f 4//1 5//1 8//1 7//1",
+            "f 5//1 6//1 9//1 8//1");
+        assertTrue(model.getPolygonCount() == 8, "Четырехугольники разбиты на треугольники");
+        assertTrue(model.getVertexCount() == 9, "Общие углы слиты в 9 вершин, получено " + model.getVertexCount());
+        boolean samePositions = true;
+        for (int p = 0; p < model.getPolygonCount(); p++) {
+            for (int c = 0; c < 3; c++) {
+                int vertex = model.getIndex(p, c);
+                samePositions &= model.getVertexZ(vertex) == 0 && model.getVertexNz(vertex) == 1;
+            }
+        }
+        assertTrue(samePositions, "Атрибуты слитых вершин сохранены");
+    }
+
+    private static void testSplitAttributes() throws Exception {
+        System.out.println("Тест: testSplitAttributes");
+
+        // Общая позиция с разными нормалями (острое ребро) и UV (шов) остается разными вершинами
+        Model model = readObj(
+            "v 0 0 0", "v 1 0 0", "v 0 1 0", "v 0 0 1",
+            "vt 0 0", "vt 1 0", "vt 0 1",
+            "vn 0 0 1", "vn 0 1 0",
+            "f 1/1/1 2/2/1 3/3/1",
+            "f 1/1/2 2/2/2 4/3/2",
+            "f 1/2/1 3/3/1 2/2/1");
+        assertTrue(model.getVertexCount() == 7, "Разные (v, vt, vn) не сливаются, получено " + model.getVertexCount());
+        assertTrue(model.getIndex(2, 1) == model.getIndex(0, 2) && model.getIndex(2, 0) != model.getIndex(0, 0),
+            "Совпадающая тройка переиспользуется, отличающаяся по vt - нет");
+        assertTrue(model.getVertexU(model.getIndex(2, 0)) == 1 && model.getVertexNy(model.getIndex(1, 0)) == 1,
+            "UV и нормали берутся из своей тройки");
+    }
+}
@@ -0,0 +1,307 @@
+package test.model;
+
+import model.MeshAdjacency;
+import model.Model;
+import model.Polygon;
+import model.Scene;
+import model.Vertex;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+public class ModelTest {
+
+    private static int passed = 0;
+    private static int failed = 0;
+
+    private static void assertTrue(boolean condition, String message) {
+        if (condition) {
+            System.out.println("[PASSED] " + message);
+            passed++;
+        } else {
+            System.out.println("[FAILED] " + message);
+            failed++;
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== Запуск тестов ModelTest ===\n");
+
+        testIndexedStorage();
+        testVertexViews();
+        testRemoveVertex();
+        testRemovePolygon();
+        testReadOnlyViews();
+        testBulkRemoval();
+        testAdjacency();
+
+        System.out.println("\n=== Итог: " + passed + " пройдено, " + failed + " провалено ===");
+    }
+
+    // Сетка n x n вершин из двух треугольников на ячейку
+    private static Model grid(int n) {
+        Model model = new Model("grid");
+        for (int y = 0; y < n; y++) {
+            for (int x = 0; x < n; x++) {
+                model.addVertex(x, y, 0, x / (double) (n - 1), y / (double) (n - 1), 0, 0, 1);
+            }
+        }
+        for (int y = 0; y < n - 1; y++) {
+            for (int x = 0; x < n - 1; x++) {
+                int i = y * n + x;
+                model.addPolygon(i, i + 1, i + n + 1);
+                model.addPolygon(i, i + n + 1, i + n);
+            }
+        }
+        return model;
+    }
+
+    private static void testIndexedStorage() {
+        System.out.println("Тест: testIndexedStorage");
+
+        // Рост массивов за пределы начальной емкости
+        Model model = grid(20);
+        assertTrue(model.getVertexCount() == 400 && model.getPolygonCount() == 19 * 19 * 2, "Число вершин и полигонов");
+        assertTrue(model.getVertexX(21) == 1 && model.getVertexY(21) == 1 && model.getVertexNz(21) == 1,
+            "Атрибуты вершины читаются по индексу");
+        assertTrue(model.getPolygonSize(2) == 3 && model.getIndex(2, 0) == 1 && model.getIndex(2, 2) == 22,
+            "Индексы полигона читаются по углам");
+
+        Polygon quad = new Polygon(Arrays.asList(0, 1, 21, 20), Arrays.asList(5, 6, 7, 8));
+        model.addPolygon(quad);
+        int last = model.getPolygonCount() - 1;
+        assertTrue(model.getPolygonSize(last) == 4 && quad.getVertexIndices().equals(Arrays.asList(0, 1, 21, 20)),
+            "Добавленный полигон - представление буфера модели");
+        assertTrue(quad.getNormalIndices().equals(Arrays.asList(5, 6, 7, 8))
+            && model.getPolygon(0).getNormalIndices().isEmpty(), "Индексы нормалей хранятся по углам");
+    }
+
+    private static void testVertexViews() {
+        System.out.println("Тест: testVertexViews");
+
+        Model model = new Model("views");
+        Vertex vertex = new Vertex(1, 2, 3, 0.5, 0.25, 0, 1, 0);
+        model.addVertex(vertex);
+        vertex.setX(4);
+        assertTrue(model.getVertexX(0) == 4 && model.getVertex(0).getX() == 4,
+            "Изменение через добавленную вершину пишет в массивы модели");
+        model.getVertex(0).setNormal(0, 0, 2);
+        model.getVertex(0).normalizeNormal();
+        assertTrue(vertex.getNz() == 1 && vertex.getU() == 0.5 && vertex.getV() == 0.25,
+            "Нормаль и UV доступны через представление");
+        assertTrue(model.getVertex(0).equals(vertex) && model.getVertices().get(0).getY() == 2,
+            "Представления одной вершины равны");
+    }
+
+    private static void testRemoveVertex() {
+        System.out.println("Тест: testRemoveVertex");
+
+        Model model = grid(3);
+        Polygon quad = new Polygon(Arrays.asList(5, 4, 7, 8), Arrays.asList(1, 2, 3, 4));
+        model.addPolygon(quad);
+        model.removeVertex(0);
+        // Удалены оба треугольника с вершиной 0, остальные индексы сдвинуты
+        assertTrue(model.getVertexCount() == 8 && model.getPolygonCount() == 7, "Полигоны с вершиной удалены");
+        boolean valid = true;
+        for (int p = 0; p < model.getPolygonCount(); p++) {
+            for (int c = 0; c < model.getPolygonSize(p); c++) {
+                valid &= model.getIndex(p, c) >= 0 && model.getIndex(p, c) < model.getVertexCount();
+            }
+        }
+        assertTrue(valid, "Индексы остаются в пределах вершин");
+        Polygon moved = model.getPolygon(model.getPolygonCount() - 1);
+        assertTrue(moved.getVertexIndices().equals(Arrays.asList(4, 3, 6, 7))
+            && moved.getNormalIndices().equals(Arrays.asList(1, 2, 3, 4)), "Индексы сдвинуты, нормали сохранены");
+        assertTrue(model.getVertexX(0) == 1 && model.getVertexU(0) == 0.5f, "Атрибуты вершин сдвинуты");
+    }
+
+    private static void testRemovePolygon() {
+        System.out.println("Тест: testRemovePolygon");
+
+        Model model = grid(3);
+        model.removePolygon(0);
+        assertTrue(model.getPolygonCount() == 7 && model.getIndex(0, 2) == 3, "Следующий полигон занял место удаленного");
+        model.addPolygon(0, 1, 2, 3);
+        int last = model.getPolygonCount() - 1;
+        assertTrue(model.getPolygonSize(last) == 4 && model.getIndex(last, 3) == 3
+            && model.getPolygon(last).getNormalIndices().isEmpty(), "Полигон после удаления добавляется в конец");
+    }
+
+    private static boolean rejectsChanges(List<?> list) {
+        try {
+            list.remove(0);
+            return false;
+        } catch (UnsupportedOperationException e) {
+            return true;
+        }
+    }
+
+    private static void testReadOnlyViews() {
+        System.out.println("Тест: testReadOnlyViews");
+
+        Model model = grid(3);
+        List<Vertex> vertices = model.getVertices();
+        List<Polygon> polygons = model.getPolygons();
+        List<Integer> indices = model.getPolygon(1).getVertexIndices();
+        assertTrue(model.getVertices() == vertices && model.getPolygons() == polygons
+            && model.getNormals() == model.getNormals(), "Списки вершин, полигонов и нормалей не копируются");
+        assertTrue(rejectsChanges(vertices) && rejectsChanges(polygons) && rejectsChanges(indices),
+            "Представления нельзя изменить");
+
+        model.addVertex(7, 8, 9, 0, 0, 0, 0, 1);
+        model.removePolygon(0);
+        assertTrue(vertices.size() == 10 && vertices.get(9).getZ() == 9 && polygons.size() == 7,
+            "Представления отражают изменения модели");
+        assertTrue(indices.equals(Arrays.asList(1, 2, 5)), "Индексы полигона читаются из буфера модели");
+
+        int[] buffer = new int[model.getIndexCount() + 1];
+        model.copyIndices(buffer, 1);
+        int start = model.getPolygonStart(2);
+        int[] corners = new int[3];
+        int size = model.getPolygon(2).copyIndices(corners, 0);
+        assertTrue(size == 3 && buffer[1 + start] == corners[0] && buffer[3 + start] == corners[2]
+            && model.getIndex(2, 1) == corners[1], "Копирование индексов совпадает с getIndex");
+        float[] positions = new float[model.getVertexCount() * 3];
+        model.copyPositions(positions, 0);
+        assertTrue(positions[27] == 7 && positions[29] == 9 && positions[4] == 0, "Копирование позиций");
+
+        Scene scene = new Scene();
+        List<Model> models = scene.getModels();
+        scene.addModel(model);
+        assertTrue(models.size() == 1 && rejectsChanges(models) && scene.getSelectedModelIndices().contains(0),
+            "Список моделей сцены - живое неизменяемое представление");
+    }
+
+    private static boolean sameMesh(Model a, Model b) {
+        if (a.getVertexCount() != b.getVertexCount() || a.getPolygonCount() != b.getPolygonCount()) {
+            return false;
+        }
+        for (int i = 0; i < a.getVertexCount(); i++) {
+            if (a.getVertexX(i) != b.getVertexX(i) || a.getVertexY(i) != b.getVertexY(i)
+                || a.getVertexU(i) != b.getVertexU(i)) {
+                return false;
+            }
+        }
+        for (int p = 0; p < a.getPolygonCount(); p++) {
+            if (!a.getPolygon(p).getVertexIndices().equals(b.getPolygon(p).getVertexIndices())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void testBulkRemoval() {
+        System.out.println("Тест: testBulkRemoval");
+
+        // Пакетное удаление совпадает с удалением по одной вершине (с конца, чтобы индексы не сдвигались)
+        Model bulk = grid(12);
+        Model single = grid(12);
+        BitSet vertices = new BitSet();
+        for (int i = 5; i < 144; i += 7) {
+            vertices.set(i);
+        }
+        vertices.set(40, 48);
+        int removed = bulk.removeVertices(vertices);
+        for (int i = vertices.length() - 1; i >= 0; i = vertices.previousSetBit(i - 1)) {
+            single.removeVertex(i);
+        }
+        assertTrue(removed == vertices.cardinality() && sameMesh(bulk, single),
+            "removeVertices совпадает с последовательным removeVertex");
+
+        BitSet polygons = new BitSet();
+        polygons.set(0, 3);
+        polygons.set(bulk.getPolygonCount() - 1);
+        int polygonsRemoved = bulk.removePolygons(polygons);
+        for (int p = polygons.length() - 1; p >= 0; p = polygons.previousSetBit(p - 1)) {
+            single.removePolygon(p);
+        }
+        assertTrue(polygonsRemoved == 4 && sameMesh(bulk, single), "removePolygons совпадает с removePolygon");
+
+        boolean rejected = false;
+        BitSet outside = new BitSet();
+        outside.set(bulk.getVertexCount());
+        try {
+            bulk.removeVertices(outside);
+        } catch (IndexOutOfBoundsException e) {
+            rejected = true;
+        }
+        assertTrue(rejected, "Индекс за пределами модели отклоняется");
+
+        // Большое пакетное удаление выполняется за один проход
+        Model large = grid(400);
+        BitSet half = new BitSet();
+        for (int i = 0; i < large.getVertexCount(); i += 2) {
+            half.set(i);
+        }
+        long start = System.nanoTime();
+        large.removeVertices(half);
+        double ms = (System.nanoTime() - start) / 1e6;
+        assertTrue(large.getVertexCount() == 80000 && ms < 2000,
+            "80000 вершин из 160000 удалены за " + String.format("%.1f", ms) + " мс");
+    }
+
+    private static void testAdjacency() {
+        System.out.println("Тест: testAdjacency");
+
+        // Сетка 4x4: угловая вершина 3 в одном треугольнике, 0 - в двух, внутренняя 5 - в шести
+        Model model = grid(4);
+        MeshAdjacency adjacency = model.getAdjacency();
+        assertTrue(model.getAdjacency() == adjacency, "Смежность кэшируется до изменения топологии");
+        assertTrue(adjacency.getFaceCount(0) == 2 && adjacency.getFaceCount(5) == 6 && adjacency.getFaceCount(3) == 1,
+            "Число полигонов вершины");
+        boolean consistent = true;
+        for (int v = 0; v < model.getVertexCount(); v++) {
+            for (int k = 0; k < adjacency.getFaceCount(v); k++) {
+                consistent &= model.getPolygon(adjacency.getFace(v, k)).containsVertex(v);
+            }
+        }
+        assertTrue(consistent, "Каждый полигон из списка вершины содержит ее");
+
+        assertTrue(adjacency.isBoundaryEdge(0, 1) && !adjacency.isBoundaryEdge(0, 5)
+            && adjacency.getEdgeFaceCount(5, 6) == 2, "Граничные и внутренние ребра");
+        // Угловой треугольник (0, 1, 5) граничит с (0, 5, 4) и (1, 6, 5), внутренний (5, 6, 10) - с тремя
+        assertTrue(Arrays.equals(adjacency.neighbourFaces(0), new int[] {1, 3})
+            && adjacency.neighbourFaces(8).length == 3, "Соседи по ребрам");
+
+        BitSet selection = new BitSet();
+        selection.set(0);
+        BitSet grown = adjacency.growSelection(selection);
+        assertTrue(grown.cardinality() == 4 && grown.get(1) && grown.get(4) && grown.get(5), "Рост выделения на одно кольцо");
+        assertTrue(adjacency.facesOf(grown).cardinality() == 8, "Полигоны набора вершин");
+
+        // Перемещение вершины не сбрасывает смежность, удаление полигона - сбрасывает
+        model.setVertexPosition(5, 1, 1, 2);
+        assertTrue(model.getAdjacency() == adjacency, "Перемещение не меняет топологию");
+        BitSet changed = new BitSet();
+        changed.set(0);
+        changed.set(3);
+        model.recomputeNormals(changed);
+        assertTrue(model.getVertexNz(0) < 1 && model.getVertexNz(0) > 0 && model.getVertexNz(3) == 1
+            && model.getVertexNz(1) == 1, "Нормали пересчитаны только для выбранных вершин");
+        BitSet corner = new BitSet();
+        corner.set(0, 2);
+        model.removePolygons(corner);
+        assertTrue(model.getAdjacency() != adjacency && model.getAdjacency().getFaceCount(0) == 0,
+            "Смежность перестраивается после удаления полигона");
+        boolean stale = false;
+        try {
+            adjacency.neighbourFaces(0);
+        } catch (IllegalStateException e) {
+            stale = true;
+        }
+        assertTrue(stale, "Устаревшая смежность отклоняет запросы");
+
+        // Удаление вершин через построенную смежность совпадает с удалением без нее
+        Model indexed = grid(12);
+        Model plain = grid(12);
+        indexed.getAdjacency();
+        BitSet vertices = new BitSet();
+        for (int i = 3; i < 144; i += 11) {
+            vertices.set(i);
+        }
+        indexed.removeVertices(vertices);
+        plain.removeVertices(vertices);
+        assertTrue(sameMesh(indexed, plain), "removeVertices со смежностью совпадает с полным проходом");
+    }
+}
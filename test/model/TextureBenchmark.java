@@ -0,0 +1,88 @@
+package test.model;
+
+import model.Texture;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Сравнение скорости выборки из текстуры с построчной раскладкой и раскладкой Morton.
+ * Экран SCREEN x SCREEN обходится построчно, как при растеризации, а UV повернуты на угол
+ * модели: при 0 градусов строка экрана идет вдоль строки текстуры, при 90 - поперек.
+ * Запуск: java -cp out test.model.TextureBenchmark [размер текстуры]
+ */
+public class TextureBenchmark {
+    private static final int SCREEN = 512;
+    private static final int WARMUP = 3;
+    private static final int RUNS = 5;
+
+    // Не дает JIT выбросить выборки
+    private static int sink;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        BufferedImage image = noiseImage(size);
+        Texture rowMajor = new Texture(image, Texture.Layout.ROW_MAJOR);
+        Texture morton = new Texture(image, Texture.Layout.MORTON);
+
+        System.out.println("=== TextureBenchmark: " + size + "x" + size + ", экран " + SCREEN + "x" + SCREEN + " ===");
+        System.out.println("Время в нс на выборку; масштаб - текселей на пиксель");
+        System.out.printf("%-6s %-6s %-10s %10s %10s %8s%n", "угол", "масшт", "фильтр", "ROW_MAJOR", "MORTON", "выигрыш");
+        float[] scales = {1, 4};
+        Texture.Filter[] filters = {Texture.Filter.NEAREST, Texture.Filter.BILINEAR};
+        for (float scale : scales) {
+            for (Texture.Filter filter : filters) {
+                for (int angle = 0; angle <= 90; angle += 15) {
+                    double rowTime = measure(rowMajor, angle, scale, filter);
+                    double mortonTime = measure(morton, angle, scale, filter);
+                    System.out.printf("%-6d %-6.0f %-10s %10.2f %10.2f %7.2fx%n",
+                        angle, scale, filter, rowTime, mortonTime, rowTime / mortonTime);
+                }
+            }
+        }
+        System.out.println("(контрольная сумма " + sink + ")");
+    }
+
+    // Шум, чтобы выборки не сводились к одинаковым значениям
+    private static BufferedImage noiseImage(int size) {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        int seed = 12345;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                seed = seed * 1103515245 + 12345;
+                image.setRGB(x, y, 0xFF000000 | (seed >>> 8));
+            }
+        }
+        return image;
+    }
+
+    // Лучшее время из RUNS прогонов, нс на выборку
+    private static double measure(Texture texture, int angleDegrees, float scale, Texture.Filter filter) {
+        double angle = Math.toRadians(angleDegrees);
+        // Шаг UV на пиксель экрана по x и по y
+        float step = scale / texture.getWidth();
+        float dux = (float) (Math.cos(angle) * step), dvx = (float) (Math.sin(angle) * step);
+        float duy = -dvx, dvy = dux;
+        // LOD 0: выборка всегда из базового уровня, сравнивается именно доступ к памяти
+        float lod = 0;
+
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < WARMUP + RUNS; run++) {
+            long start = System.nanoTime();
+            int sum = 0;
+            for (int y = 0; y < SCREEN; y++) {
+                float u = 0.1f + y * duy, v = 0.2f + y * dvy;
+                for (int x = 0; x < SCREEN; x++) {
+                    sum += texture.sample(u, v, lod, filter);
+                    u += dux;
+                    v += dvx;
+                }
+            }
+            long time = System.nanoTime() - start;
+            sink += sum;
+            if (run >= WARMUP) {
+                best = Math.min(best, time);
+            }
+        }
+        return (double) best / (SCREEN * SCREEN);
+    }
+}
@@ -0,0 +1,197 @@
+package test.model;
+
+import model.Model;
+import model.Texture;
+
+import java.awt.image.BufferedImage;
+
+public class TextureTest {
+
+    private static int passed = 0;
+    private static int failed = 0;
+
+    private static void assertTrue(boolean condition, String message) {
+        if (condition) {
+            System.out.println("[PASSED] " + message);
+            passed++;
+        } else {
+            System.out.println("[FAILED] " + message);
+            failed++;
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== Запуск тестов TextureTest ===\n");
+
+        testPackedPixels();
+        testWrapPowerOfTwo();
+        testWrapNonPowerOfTwo();
+        testModelConvertsOnSet();
+        testMipLevels();
+        testBilinear();
+        testLodSelection();
+        testMortonLayout();
+
+        System.out.println("\n=== Итог: " + passed + " пройдено, " + failed + " провалено ===");
+    }
+
+    // Изображение, в котором цвет текселя кодирует его координаты
+    private static BufferedImage coordinateImage(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, 0xFF000000 | (x << 8) | y);
+            }
+        }
+        return image;
+    }
+
+    private static void testPackedPixels() {
+        System.out.println("Тест: testPackedPixels");
+
+        BufferedImage image = coordinateImage(8, 4);
+        Texture texture = new Texture(image);
+        boolean same = true;
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 8; x++) {
+                same &= texture.getPixels()[y * 8 + x] == image.getRGB(x, y);
+            }
+        }
+        assertTrue(same, "Упакованные пиксели совпадают с getRGB");
+        assertTrue(texture.isPowerOfTwo(), "Размер 8x4 распознан как степень двойки");
+    }
+
+    private static void testWrapPowerOfTwo() {
+        System.out.println("Тест: testWrapPowerOfTwo");
+
+        Texture texture = new Texture(coordinateImage(8, 8));
+        // Центр текселя (2, 5): u = 2.5/8, v = 1 - 5.5/8
+        float u = 2.5f / 8, v = 1 - 5.5f / 8;
+        int expected = texture.sample(u, v);
+        assertTrue(expected == (0xFF000000 | (2 << 8) | 5), "Выборка попадает в нужный тексель");
+        assertTrue(texture.sample(u + 3, v - 2) == expected, "Повторение при u > 1 и v < 0");
+        assertTrue(texture.sample(u - 1, v + 1) == expected, "Повторение при отрицательном u");
+    }
+
+    private static void testWrapNonPowerOfTwo() {
+        System.out.println("Тест: testWrapNonPowerOfTwo");
+
+        Texture texture = new Texture(coordinateImage(6, 3));
+        assertTrue(!texture.isPowerOfTwo(), "Размер 6x3 не степень двойки");
+        float u = 4.5f / 6, v = 1 - 1.5f / 3;
+        int expected = texture.sample(u, v);
+        assertTrue(expected == (0xFF000000 | (4 << 8) | 1), "Выборка попадает в нужный тексель");
+        assertTrue(texture.sample(u - 2, v + 5) == expected, "Повторение для размера не степени двойки");
+    }
+
+    private static void testModelConvertsOnSet() {
+        System.out.println("Тест: testModelConvertsOnSet");
+
+        Model model = new Model("textured");
+        assertTrue(model.getTextureData() == null, "Без текстуры данных нет");
+        model.setTexture(coordinateImage(4, 4));
+        assertTrue(model.getTextureData() != null && model.getTextureData().getWidth() == 4,
+            "setTexture сразу создает упакованную текстуру");
+        model.setTexture(null);
+        assertTrue(model.getTextureData() == null, "Сброс текстуры очищает данные");
+    }
+
+    private static void testMipLevels() {
+        System.out.println("Тест: testMipLevels");
+
+        // Черно-белая шахматная доска 1x1: все уровни кроме базового - серые
+        BufferedImage image = new BufferedImage(8, 4, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 8; x++) {
+                image.setRGB(x, y, ((x + y) & 1) == 0 ? 0xFFFFFFFF : 0xFF000000);
+            }
+        }
+        Texture texture = new Texture(image);
+        assertTrue(texture.getLevelCount() == 4, "Уровни 8x4, 4x2, 2x1, 1x1");
+        assertTrue(texture.getLevelWidth(3) == 1 && texture.getLevelHeight(3) == 1, "Последний уровень 1x1");
+        assertTrue(texture.getLevelWidth(2) == 2 && texture.getLevelHeight(2) == 1,
+            "Короткая сторона не становится меньше 1");
+        assertTrue(texture.getLevelPixels(1)[0] == 0xFF808080, "Уровень 1 - среднее блока 2x2");
+        assertTrue(texture.getLevelPixels(0) == texture.getPixels(), "Уровень 0 - исходные пиксели");
+
+        Texture odd = new Texture(coordinateImage(3, 3));
+        assertTrue(odd.getLevelCount() == 2 && odd.getLevelWidth(1) == 1, "Уровни для нечетного размера 3x3");
+    }
+
+    private static void testBilinear() {
+        System.out.println("Тест: testBilinear");
+
+        BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 0xFF000000);
+        image.setRGB(1, 0, 0xFFFF0000);
+        image.setRGB(0, 1, 0xFF000000);
+        image.setRGB(1, 1, 0xFFFF0000);
+        Texture texture = new Texture(image);
+        // Центр текселя (0, 0) - точное значение текселя
+        assertTrue(texture.sampleBilinear(0.25f, 0.75f, 0) == 0xFF000000, "В центре текселя - сам тексель");
+        int middle = texture.sampleBilinear(0.5f, 0.75f, 0);
+        assertTrue(((middle >> 16) & 0xFF) == 0x7F || ((middle >> 16) & 0xFF) == 0x80,
+            "Между текселями - среднее по красному");
+        assertTrue((middle >>> 24) == 0xFF, "Альфа не искажается");
+        // На краю интерполяция идет с противоположным краем (повторение)
+        int edge = texture.sampleBilinear(0.0f, 0.75f, 0);
+        assertTrue(edge == middle, "Повторение на краю текстуры");
+    }
+
+    private static void testLodSelection() {
+        System.out.println("Тест: testLodSelection");
+
+        BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 4; x++) {
+                image.setRGB(x, y, ((x + y) & 1) == 0 ? 0xFFFFFFFF : 0xFF000000);
+            }
+        }
+        Texture texture = new Texture(image);
+        float u = 0.125f, v = 0.875f;
+        assertTrue(texture.sample(u, v, 0, Texture.Filter.BILINEAR) == 0xFFFFFFFF,
+            "При увеличении - базовый уровень");
+        assertTrue(texture.sample(u, v, 5, Texture.Filter.NEAREST) == 0xFFFFFFFF,
+            "NEAREST всегда берет базовый уровень");
+        assertTrue(texture.sample(u, v, 1, Texture.Filter.BILINEAR) == 0xFF808080,
+            "При уменьшении вдвое - уровень 1");
+        assertTrue(texture.sample(u, v, 10, Texture.Filter.TRILINEAR) == 0xFF808080,
+            "LOD больше числа уровней - последний уровень");
+        int blended = texture.sample(u, v, 0.5f, Texture.Filter.TRILINEAR);
+        int red = (blended >> 16) & 0xFF;
+        assertTrue(red > 0x80 && red < 0xFF, "Трилинейная фильтрация смешивает уровни 0 и 1");
+    }
+
+    private static void testMortonLayout() {
+        System.out.println("Тест: testMortonLayout");
+
+        BufferedImage image = coordinateImage(16, 4);
+        Texture rowMajor = new Texture(image, Texture.Layout.ROW_MAJOR);
+        Texture morton = new Texture(image, Texture.Layout.MORTON);
+        assertTrue(morton.getLayout() == Texture.Layout.MORTON, "Раскладка Morton для 16x4");
+        assertTrue(morton.getPixels()[1] == image.getRGB(1, 0) && morton.getPixels()[2] == image.getRGB(0, 1),
+            "Биты x и y чередуются: индекс 2 - тексель (0, 1)");
+
+        boolean sameTexels = true;
+        for (int level = 0; level < morton.getLevelCount(); level++) {
+            for (int y = 0; y < morton.getLevelHeight(level); y++) {
+                for (int x = 0; x < morton.getLevelWidth(level); x++) {
+                    sameTexels &= morton.getRGB(x, y, level) == rowMajor.getRGB(x, y, level);
+                }
+            }
+        }
+        assertTrue(sameTexels, "Все уровни совпадают по содержимому с построчной раскладкой");
+
+        boolean sameSamples = true;
+        for (int i = 0; i < 200; i++) {
+            float u = i * 0.037f - 2, v = i * 0.051f - 3, lod = i * 0.02f;
+            for (Texture.Filter filter : Texture.Filter.values()) {
+                sameSamples &= morton.sample(u, v, lod, filter) == rowMajor.sample(u, v, lod, filter);
+            }
+        }
+        assertTrue(sameSamples, "Выборка не зависит от раскладки");
+
+        Texture fallback = new Texture(coordinateImage(6, 3), Texture.Layout.MORTON);
+        assertTrue(fallback.getLayout() == Texture.Layout.ROW_MAJOR, "Размер не степень двойки - построчная раскладка");
+    }
+}
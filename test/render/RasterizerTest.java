@@ -0,0 +1,682 @@
+package test.render;
+
+import render.DepthBuffer;
+import render.FrameBuffer;
+import render.LineBatch;
+import render.LineRasterizer;
+import render.ModelEdges;
+import render.ModelBounds;
+import render.OffscreenRenderer;
+import render.PointRasterizer;
+import render.Shading;
+import render.TileRasterizer;
+import render.TransformedVertices;
+import render.TriangleBatch;
+import render.TriangleClipper;
+import render.TriangleSetup;
+import render.ViewTransform;
+import math.Frustum;
+import math.Vector3f;
+import model.Model;
+import model.Polygon;
+import model.Scene;
+import model.Vertex;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class RasterizerTest {
+    
+    private static int passed = 0;
+    private static int failed = 0;
+    
+    private static final int BACKGROUND = 0xFFFFFF;
+    
+    private static void assertTrue(boolean condition, String message) {
+        if (condition) {
+            System.out.println("[PASSED] " + message);
+            passed++;
+        } else {
+            System.out.println("[FAILED] " + message);
+            failed++;
+        }
+    }
+    
+    public static void main(String[] args) {
+        System.out.println("=== Запуск тестов RasterizerTest ===\n");
+        
+        testWatertightMesh();
+        testDegenerateTriangleSkipped();
+        testDepthOrderIndependence();
+        testTilesCoverWholeTriangle();
+        testBlockTraversalMatchesEdgeTest();
+        testNearPlaneClipping();
+        testFrustumSidePlanes();
+        testModelBoundsCulling();
+        testBoundsCache();
+        testOffscreenRender();
+        testLightingTable();
+        testShadingModes();
+        testSpanFillMatchesBlocks();
+        testModelEdges();
+        testLineRasterizer();
+        testPointSprites();
+        
+        System.out.println("\n=== Итог: " + passed + " пройдено, " + failed + " провалено ===");
+    }
+    
+    // Треугольник с нормалью (0, 0, 1) без текстуры; вершины - [screenX, screenY, depth]
+    private static void addTriangle(TriangleBatch batch, double[] a, double[] b, double[] c, int color) {
+        int base = batch.addTriangle(color, -1);
+        double[][] corners = {a, b, c};
+        for (int k = 0; k < 3; k++) {
+            double[] p = corners[k];
+            batch.setVertex(base + k, (float) p[0], (float) p[1], (float) p[2], 0, 0, 1, 0, 0);
+        }
+    }
+    
+    private static void testWatertightMesh() {
+        System.out.println("Тест: testWatertightMesh");
+        
+        // Сетка со случайно сдвинутыми внутренними вершинами внутри прямоугольника [8, 120] x [8, 100]
+        int cols = 7, rows = 5;
+        double[][][] grid = new double[rows + 1][cols + 1][];
+        Random random = new Random(42);
+        for (int j = 0; j <= rows; j++) {
+            for (int i = 0; i <= cols; i++) {
+                double x = 8 + i * 16.0;
+                double y = 8 + j * 18.4;
+                if (i > 0 && i < cols) x += random.nextDouble() * 10 - 5;
+                if (j > 0 && j < rows) y += random.nextDouble() * 10 - 5;
+                grid[j][i] = new double[]{x, y, 0.5};
+            }
+        }
+        
+        TriangleBatch batch = new TriangleBatch();
+        for (int j = 0; j < rows; j++) {
+            for (int i = 0; i < cols; i++) {
+                double[] p00 = grid[j][i], p10 = grid[j][i + 1];
+                double[] p01 = grid[j + 1][i], p11 = grid[j + 1][i + 1];
+                if ((i + j) % 2 == 0) {
+                    addTriangle(batch, p00, p10, p11, 0);
+                    addTriangle(batch, p00, p11, p01, 0);
+                } else {
+                    // Обратный обход для части треугольников
+                    addTriangle(batch, p00, p01, p10, 0);
+                    addTriangle(batch, p10, p01, p11, 0);
+                }
+            }
+        }
+        
+        TriangleSetup setup = new TriangleSetup();
+        int count = setup.build(batch, 128, 128);
+        assertTrue(count == rows * cols * 2, "Все треугольники подготовлены");
+        
+        int gaps = 0;
+        int overlaps = 0;
+        int outside = 0;
+        for (int y = 0; y < 128; y++) {
+            for (int x = 0; x < 128; x++) {
+                int coverage = 0;
+                for (int s = 0; s < count; s++) {
+                    if (setup.covers(s, x, y)) coverage++;
+                }
+                boolean inside = x >= 8 && x < 120 && y >= 8 && y < 100;
+                if (inside && coverage == 0) gaps++;
+                if (coverage > 1) overlaps++;
+                if (!inside && coverage > 0) outside++;
+            }
+        }
+        assertTrue(gaps == 0, "Нет щелей на общих ребрах (пропусков: " + gaps + ")");
+        assertTrue(overlaps == 0, "Нет двойной закраски общих ребер (повторов: " + overlaps + ")");
+        assertTrue(outside == 0, "Нет пикселей за границей сетки (лишних: " + outside + ")");
+    }
+    
+    private static void testDegenerateTriangleSkipped() {
+        System.out.println("Тест: testDegenerateTriangleSkipped");
+        
+        TriangleBatch batch = new TriangleBatch();
+        addTriangle(batch, new double[]{10, 10, 0.5}, new double[]{20, 20, 0.5}, new double[]{30, 30, 0.5}, 0);
+        addTriangle(batch, new double[]{-50, -50, 0.5}, new double[]{-40, -50, 0.5}, new double[]{-40, -40, 0.5}, 0);
+        
+        TriangleSetup setup = new TriangleSetup();
+        assertTrue(setup.build(batch, 64, 64) == 0, "Вырожденные и внеэкранные треугольники отброшены");
+    }
+    
+    private static void testDepthOrderIndependence() {
+        System.out.println("Тест: testDepthOrderIndependence");
+        
+        int near = 0x00FF00;
+        int far = 0xFF0000;
+        for (boolean reverse : new boolean[]{true, false}) {
+            FrameBuffer frameBuffer = new FrameBuffer();
+            DepthBuffer depthBuffer = new DepthBuffer();
+            frameBuffer.resize(64, 64);
+            depthBuffer.resize(64, 64);
+            depthBuffer.setConvention(reverse ? DepthBuffer.REVERSE_FORMAT : DepthBuffer.STANDARD_FORMAT,
+                    reverse ? DepthBuffer.COMPARE_GREATER : DepthBuffer.COMPARE_LESS);
+            frameBuffer.clear(BACKGROUND);
+            depthBuffer.clear();
+            
+            float nearDepth = depthBuffer.depthFromW(2.0, 0.1);
+            float farDepth = depthBuffer.depthFromW(8.0, 0.1);
+            
+            TriangleBatch batch = new TriangleBatch();
+            addTriangle(batch, new double[]{0, 0, nearDepth}, new double[]{64, 0, nearDepth}, new double[]{0, 64, nearDepth}, near);
+            addTriangle(batch, new double[]{0, 0, farDepth}, new double[]{64, 0, farDepth}, new double[]{0, 64, farDepth}, far);
+            
+            Shading shading = new Shading();
+            shading.enableLighting = false;
+            new TileRasterizer().render(batch, frameBuffer, depthBuffer, shading);
+            
+            assertTrue(frameBuffer.getPixels()[10 * 64 + 10] == near,
+                    "Ближний треугольник виден независимо от порядка (reverseZ = " + reverse + ")");
+        }
+    }
+    
+    private static void testTilesCoverWholeTriangle() {
+        System.out.println("Тест: testTilesCoverWholeTriangle");
+        
+        int size = TileRasterizer.TILE_SIZE * 3 + 17;
+        FrameBuffer frameBuffer = new FrameBuffer();
+        DepthBuffer depthBuffer = new DepthBuffer();
+        frameBuffer.resize(size, size);
+        depthBuffer.resize(size, size);
+        frameBuffer.clear(BACKGROUND);
+        depthBuffer.clear();
+        
+        TriangleBatch batch = new TriangleBatch();
+        addTriangle(batch, new double[]{0, 0, 0.5}, new double[]{size, 0, 0.5}, new double[]{size, size, 0.5}, 0);
+        addTriangle(batch, new double[]{0, 0, 0.5}, new double[]{size, size, 0.5}, new double[]{0, size, 0.5}, 0);
+        
+        Shading shading = new Shading();
+        shading.enableLighting = false;
+        new TileRasterizer().render(batch, frameBuffer, depthBuffer, shading);
+        
+        int uncovered = 0;
+        for (int pixel : frameBuffer.getPixels()) {
+            if (pixel == BACKGROUND) uncovered++;
+        }
+        assertTrue(uncovered == 0, "Два треугольника закрывают весь экран через границы тайлов (пропусков: " + uncovered + ")");
+    }
+    
+    private static void testBlockTraversalMatchesEdgeTest() {
+        System.out.println("Тест: testBlockTraversalMatchesEdgeTest");
+        
+        int width = 150, height = 110;
+        FrameBuffer frameBuffer = new FrameBuffer();
+        DepthBuffer depthBuffer = new DepthBuffer();
+        frameBuffer.resize(width, height);
+        depthBuffer.resize(width, height);
+        frameBuffer.clear(BACKGROUND);
+        depthBuffer.clear();
+        
+        // Длинные тонкие диагональные треугольники: большинство блоков 8x8 отбрасывается целиком
+        TriangleBatch batch = new TriangleBatch();
+        addTriangle(batch, new double[]{1.3, 2.7, 0.5}, new double[]{148.2, 105.1, 0.5}, new double[]{145.9, 108.4, 0.5}, 0);
+        addTriangle(batch, new double[]{3.5, 100.25, 0.5}, new double[]{140.75, 4.5, 0.5}, new double[]{20.0, 104.0, 0.5}, 0);
+        
+        Shading shading = new Shading();
+        shading.enableLighting = false;
+        new TileRasterizer().render(batch, frameBuffer, depthBuffer, shading);
+        
+        TriangleSetup setup = new TriangleSetup();
+        int count = setup.build(batch, width, height);
+        int mismatches = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean covered = false;
+                for (int s = 0; s < count; s++) {
+                    covered |= setup.covers(s, x, y);
+                }
+                boolean drawn = frameBuffer.getPixels()[y * width + x] != BACKGROUND;
+                if (covered != drawn) mismatches++;
+            }
+        }
+        assertTrue(mismatches == 0, "Блочный обход совпадает с попиксельной проверкой ребер (расхождений: " + mismatches + ")");
+    }
+    
+    private static void testNearPlaneClipping() {
+        System.out.println("Тест: testNearPlaneClipping");
+        
+        // Камера смотрит вдоль +Z с расстояния 10: w = 10 + z
+        double near = 0.1;
+        ViewTransform view = new ViewTransform();
+        view.set(0, 0, 0, 0, 0, new Vector3f(0, 0, 0), 10, 10, 64, 64, new DepthBuffer(), near);
+        TriangleClipper clipper = new TriangleClipper();
+        clipper.update(view, 128, 128);
+        
+        // Одна вершина за камерой (w = -10), две перед ней (w = 15)
+        Model vertices = meshOf(
+            new Vertex(0, 1, -20), new Vertex(-1, -1, 5), new Vertex(1, -1, 5));
+        TransformedVertices transformed = new TransformedVertices();
+        view.transform(vertices, transformed);
+        clipper.computeClipCodes(transformed);
+        
+        int[] codes = transformed.getClipCodes();
+        assertTrue((codes[0] & TriangleClipper.NEAR_MASK) != 0 && codes[1] == 0 && codes[2] == 0,
+            "Вершина за камерой помечена ближней плоскостью");
+        
+        int n = clipper.clip(transformed, vertices, 0, 1, 2, view);
+        TriangleBatch batch = new TriangleBatch();
+        int emitted = clipper.emit(batch, 0, -1);
+        assertTrue(n == 4 && emitted == 2, "Отсечение одной вершины дает четырехугольник (2 треугольника), получено " + n);
+        
+        // После отсечения проекция конечна и видимая часть доходит до растеризатора
+        // (часть веера может целиком уйти за нижний край экрана)
+        TriangleSetup setup = new TriangleSetup();
+        int built = setup.build(batch, 128, 128);
+        assertTrue(built >= 1, "Отсеченные треугольники проходят подготовку растеризатора");
+        
+        // Треугольник целиком за камерой отбрасывается
+        Model behind = meshOf(
+            new Vertex(0, 1, -20), new Vertex(-1, -1, -20), new Vertex(1, -1, -20));
+        view.transform(behind, transformed);
+        clipper.computeClipCodes(transformed);
+        assertTrue(clipper.clip(transformed, behind, 0, 1, 2, view) == 0,
+            "Треугольник за камерой полностью отсекается");
+    }
+    
+    private static Model meshOf(Vertex... vertices) {
+        Model model = new Model("mesh");
+        for (Vertex vertex : vertices) {
+            model.addVertex(vertex);
+        }
+        return model;
+    }
+    
+    private static void testFrustumSidePlanes() {
+        System.out.println("Тест: testFrustumSidePlanes");
+        
+        Frustum frustum = new Frustum();
+        frustum.updateFromCamera(new Vector3f(0, 0, 0), new Vector3f(0, 0, 1),
+            new Vector3f(0, 1, 0), new Vector3f(1, 0, 0), 90, 1, 1, 100);
+        
+        // При угле 90 градусов граница проходит по x = z
+        assertTrue(frustum.containsPoint(new Vector3f(9, 0, 10)), "Точка внутри наклонной боковой плоскости");
+        assertTrue(!frustum.containsPoint(new Vector3f(11, 0, 10)), "Точка снаружи наклонной боковой плоскости");
+        assertTrue(!frustum.containsPoint(new Vector3f(0, 0, 0.5f)), "Точка ближе ближней плоскости снаружи");
+        assertTrue(!frustum.containsPoint(new Vector3f(0, 0, 150)), "Точка дальше дальней плоскости снаружи");
+    }
+    
+    private static void testModelBoundsCulling() {
+        System.out.println("Тест: testModelBoundsCulling");
+        
+        ViewTransform view = new ViewTransform();
+        view.set(0, 0, 0, 0, 0, new Vector3f(0, 0, 0), 10, 10, 64, 64, new DepthBuffer(), 0.1);
+        Frustum frustum = new Frustum();
+        view.updateClipFrustum(frustum, 0, 0, 128, 128);
+        
+        Model model = new Model("cube");
+        for (int i = 0; i < 8; i++) {
+            model.addVertex(new Vertex((i & 1) * 2 - 1, (i >> 1 & 1) * 2 - 1, (i >> 2 & 1) * 2 - 1));
+        }
+        ModelBounds bounds = new ModelBounds();
+        bounds.update(model);
+        assertTrue(Math.abs(bounds.getRadius() - Math.sqrt(3)) < 1e-3, "Радиус сферы куба равен sqrt(3)");
+        assertTrue(frustum.intersectsSphere(view.toCameraSpace(bounds.getCenter()), bounds.getRadius()),
+            "Модель в центре экрана видима");
+        
+        // Сдвигаем модель далеко вправо: экран покрывает |x| <= 6.4 на глубине w = 10
+        Model far = new Model("far");
+        for (int i = 0; i < 8; i++) {
+            far.addVertex(new Vertex(50 + (i & 1) * 2 - 1, (i >> 1 & 1) * 2 - 1, (i >> 2 & 1) * 2 - 1));
+        }
+        ModelBounds farBounds = new ModelBounds();
+        farBounds.update(far);
+        assertTrue(!frustum.intersectsSphere(view.toCameraSpace(farBounds.getCenter()), farBounds.getRadius()),
+            "Модель за краем экрана отсекается");
+    }
+    
+    private static void testBoundsCache() {
+        System.out.println("Тест: testBoundsCache");
+        
+        Model model = new Model("cube");
+        for (int i = 0; i < 8; i++) {
+            model.addVertex(new Vertex((i & 1) * 2 - 1, (i >> 1 & 1) * 2 - 1, (i >> 2 & 1) * 2 - 1));
+        }
+        Scene scene = new Scene();
+        scene.addModel(model);
+        Model.Bounds first = model.getBounds();
+        Model.Bounds sceneFirst = scene.getBounds();
+        assertTrue(model.getBounds() == first && scene.getBounds() == sceneFirst,
+            "Без изменений вершин границы не пересчитываются");
+        assertTrue(first.minX == -1 && first.maxX == 1 && Math.abs(first.centroidRadius - Math.sqrt(3)) < 1e-9,
+            "AABB и сфера куба");
+        
+        // Перемещение вершины сбрасывает кэш модели, сцены и сферы отсечения
+        ModelBounds culling = new ModelBounds();
+        culling.update(model);
+        model.getVertex(7).setX(5);
+        Model.Bounds moved = model.getBounds();
+        culling.update(model);
+        assertTrue(moved != first && moved.maxX == 5 && scene.getBounds().maxX == 5
+            && culling.getCenter().x == 2, "Перемещение вершины обновляет границы");
+        
+        // Вторая модель целиком в отрицательной области расширяет границы сцены
+        Model negative = new Model("negative");
+        negative.addVertex(new Vertex(-10, -10, -10));
+        negative.addVertex(new Vertex(-8, -8, -8));
+        scene.addModel(negative);
+        Model.Bounds merged = scene.getBounds();
+        assertTrue(merged.minX == -10 && merged.maxX == 5 && merged.vertexCount == 10,
+            "Границы сцены объединяют модели");
+        
+        model.removeVertex(7);
+        assertTrue(scene.getBounds().maxX == 1, "Удаление вершины обновляет границы сцены");
+    }
+    
+    private static void testOffscreenRender() {
+        System.out.println("Тест: testOffscreenRender");
+        
+        Model model = new Model("quad");
+        model.addVertex(new Vertex(-1, -1, 0));
+        model.addVertex(new Vertex(1, -1, 0));
+        model.addVertex(new Vertex(1, 1, 0));
+        model.addVertex(new Vertex(-1, 1, 0));
+        model.addPolygon(new Polygon(Arrays.asList(0, 1, 2)));
+        model.addPolygon(new Polygon(Arrays.asList(0, 2, 3)));
+        Scene scene = new Scene();
+        scene.addModel(model);
+        
+        OffscreenRenderer renderer = new OffscreenRenderer();
+        renderer.setShowVertices(false);
+        BufferedImage image = renderer.render(scene, OffscreenRenderer.fitCamera(scene), 96, 64);
+        
+        assertTrue(image.getWidth() == 96 && image.getHeight() == 64, "Размер изображения совпадает с запрошенным");
+        assertTrue((image.getRGB(48, 32) & 0xFFFFFF) != BACKGROUND, "Модель видна в центре кадра");
+        assertTrue((image.getRGB(1, 1) & 0xFFFFFF) == BACKGROUND, "Угол кадра остается фоном");
+    }
+
+    private static void testLightingTable() {
+        System.out.println("Тест: testLightingTable");
+        
+        Shading shading = new Shading();
+        shading.shininess = 64;
+        shading.prepare();
+        double[] l = {-0.5, -0.5, 1.0};
+        double len = Math.sqrt(l[0] * l[0] + l[1] * l[1] + l[2] * l[2]);
+        Random random = new Random(7);
+        double maxError = 0;
+        for (int i = 0; i < 10000; i++) {
+            double nx = random.nextGaussian(), ny = random.nextGaussian(), nz = random.nextGaussian();
+            double n = Math.sqrt(nx * nx + ny * ny + nz * nz);
+            nx /= n; ny /= n; nz /= n;
+            // Прямое вычисление Phong без таблицы
+            double dot = (nx * l[0] + ny * l[1] + nz * l[2]) / len;
+            double rz = 2 * dot * nz - l[2] / len;
+            double expected = shading.ambientStrength
+                + (1.0 - shading.ambientStrength) * Math.max(0, dot) * shading.lightIntensity
+                + shading.specularStrength * Math.pow(Math.max(0, rz), shading.shininess);
+            expected = Math.min(1.0, Math.max(0.0, expected));
+            maxError = Math.max(maxError, Math.abs(shading.computeLighting(nx, ny, nz) - expected));
+        }
+        assertTrue(maxError < 1e-3, "Таблица зеркальной составляющей совпадает с pow (ошибка " + maxError + ")");
+        
+        // Нормаль, для которой отраженный луч имеет z-компоненту rz: свет вдоль z, n повернута на половину угла
+        shading.shininess = 8;
+        shading.lightIntensity = 0.5;
+        shading.lightDirX = 0; shading.lightDirY = 0; shading.lightDirZ = 1;
+        shading.prepare();
+        double rz = 0.9;
+        double half = Math.acos(rz) / 2;
+        double light = shading.computeLighting(Math.sin(half), 0, Math.cos(half));
+        double expected = Math.min(1.0, shading.ambientStrength
+            + (1.0 - shading.ambientStrength) * Math.cos(half) * shading.lightIntensity
+            + shading.specularStrength * Math.pow(rz, 8));
+        assertTrue(Math.abs(light - expected) < 1e-3, "Таблица перестраивается при смене shininess");
+    }
+
+    private static void testShadingModes() {
+        System.out.println("Тест: testShadingModes");
+        
+        int size = 64;
+        FrameBuffer frameBuffer = new FrameBuffer();
+        DepthBuffer depthBuffer = new DepthBuffer();
+        frameBuffer.resize(size, size);
+        depthBuffer.resize(size, size);
+        
+        // Нормали вершин расходятся, поэтому в PHONG и GOURAUD яркость меняется по треугольнику
+        TriangleBatch batch = new TriangleBatch();
+        int base = batch.addTriangle(0xC0C0C0, -1);
+        batch.setVertex(base, 2, 2, 0.5f, -0.6f, -0.6f, 0.5f, 0, 0);
+        batch.setVertex(base + 1, 60, 4, 0.5f, 0.8f, 0, 0.6f, 0, 0);
+        batch.setVertex(base + 2, 6, 60, 0.5f, 0, 0.8f, 0.6f, 0, 0);
+        Shading shading = new Shading();
+        shading.prepare();
+        batch.setLight(0, 0.2f);
+        batch.setLight(1, 1.0f);
+        batch.setLight(2, 0.6f);
+        
+        shading.mode = Shading.Mode.FLAT;
+        int[] flat = renderWith(batch, frameBuffer, depthBuffer, shading);
+        Set<Integer> flatColors = new HashSet<>();
+        for (int pixel : flat) {
+            if (pixel != BACKGROUND) flatColors.add(pixel);
+        }
+        assertTrue(flatColors.size() == 1, "FLAT закрашивает треугольник одним цветом");
+        
+        shading.mode = Shading.Mode.GOURAUD;
+        int[] gouraud = renderWith(batch, frameBuffer, depthBuffer, shading);
+        int nearBright = gouraud[5 * size + 55] & 0xFF;
+        int nearDark = gouraud[4 * size + 4] & 0xFF;
+        assertTrue(nearBright > nearDark, "GOURAUD интерполирует освещенность вершин");
+        assertTrue(Math.abs(nearDark - Math.round(0xC0 * 0.2f)) <= 0xC0 / 8, "У темной вершины яркость около 0.2");
+        
+        shading.mode = Shading.Mode.PHONG;
+        int[] phong = renderWith(batch, frameBuffer, depthBuffer, shading);
+        int covered = 0, sameCoverage = 0;
+        for (int i = 0; i < phong.length; i++) {
+            if (phong[i] != BACKGROUND) covered++;
+            if ((phong[i] != BACKGROUND) == (flat[i] != BACKGROUND) && (phong[i] != BACKGROUND) == (gouraud[i] != BACKGROUND)) {
+                sameCoverage++;
+            }
+        }
+        assertTrue(covered > 0 && sameCoverage == phong.length, "Режим закраски не меняет покрытие пикселей");
+    }
+    
+    private static int[] renderWith(TriangleBatch batch, FrameBuffer frameBuffer, DepthBuffer depthBuffer, Shading shading) {
+        frameBuffer.clear(BACKGROUND);
+        depthBuffer.clear();
+        new TileRasterizer().render(batch, frameBuffer, depthBuffer, shading);
+        return frameBuffer.getPixels().clone();
+    }
+
+    private static void testSpanFillMatchesBlocks() {
+        System.out.println("Тест: testSpanFillMatchesBlocks");
+        
+        int width = 137, height = 91;
+        FrameBuffer frameBuffer = new FrameBuffer();
+        DepthBuffer depthBuffer = new DepthBuffer();
+        frameBuffer.resize(width, height);
+        depthBuffer.resize(width, height);
+        
+        // Пересекающиеся по глубине треугольники: часть каждой строки закрыта другим треугольником
+        TriangleBatch batch = new TriangleBatch();
+        Random random = new Random(11);
+        for (int i = 0; i < 40; i++) {
+            double[][] p = new double[3][];
+            for (int k = 0; k < 3; k++) {
+                p[k] = new double[]{random.nextDouble() * 160 - 10, random.nextDouble() * 110 - 10, random.nextDouble()};
+            }
+            addTriangle(batch, p[0], p[1], p[2], 0x101010 * (1 + i % 15));
+        }
+        
+        // FLAT: строки; PHONG при одинаковых нормалях дает тот же цвет, но идет блоками
+        Shading shading = new Shading();
+        shading.prepare();
+        shading.mode = Shading.Mode.FLAT;
+        int[] spans = renderWith(batch, frameBuffer, depthBuffer, shading);
+        float[] spanDepth = depthBuffer.getDepth().clone();
+        shading.mode = Shading.Mode.PHONG;
+        int[] blocks = renderWith(batch, frameBuffer, depthBuffer, shading);
+        assertTrue(Arrays.equals(spans, blocks), "Закраска строками совпадает с закраской блоками");
+        assertTrue(Arrays.equals(spanDepth, depthBuffer.getDepth()), "Буфер глубины совпадает");
+    }
+
+    private static void testModelEdges() {
+        System.out.println("Тест: testModelEdges");
+        
+        // Два треугольника с общим ребром (0, 2) и квадрат, делящий ребро (2, 3) с одним из них
+        Model model = new Model("edges");
+        for (int i = 0; i < 6; i++) {
+            model.addVertex(new Vertex(i, i % 2, 0));
+        }
+        model.addPolygon(new Polygon(Arrays.asList(0, 1, 2)));
+        model.addPolygon(new Polygon(Arrays.asList(0, 2, 3)));
+        model.addPolygon(new Polygon(Arrays.asList(3, 2, 4, 5)));
+        ModelEdges edges = new ModelEdges();
+        edges.update(model);
+        assertTrue(edges.getEdgeCount() == 8, "Общие ребра хранятся один раз (ребер: " + edges.getEdgeCount() + ")");
+        assertTrue(edges.getOutlineEdgeCount() == 4, "Контур только у не-треугольного полигона");
+        
+        int[] before = edges.getEdges();
+        edges.update(model);
+        assertTrue(edges.getEdges() == before, "Без изменения сетки список ребер не пересчитывается");
+        model.addPolygon(new Polygon(Arrays.asList(4, 5)));
+        edges.update(model);
+        assertTrue(edges.getEdgeCount() == 8 && edges.getOutlineEdgeCount() == 4,
+            "Отрезок из двух вершин совпадает с уже существующим ребром");
+
+        // Замена полигона при тех же числах вершин и полигонов тоже пересчитывает ребра
+        model.removePolygon(0);
+        model.addPolygon(1, 4, 5);
+        edges.update(model);
+        int[] list = edges.getEdges();
+        boolean hasNew = false;
+        for (int k = 0; k < edges.getEdgeCount(); k++) {
+            hasNew |= list[2 * k] == 1 && list[2 * k + 1] == 4;
+        }
+        assertTrue(hasNew && edges.getEdgeCount() == 8, "Ребра обновлены после замены полигона");
+    }
+    
+    private static void testLineRasterizer() {
+        System.out.println("Тест: testLineRasterizer");
+        
+        int size = 32;
+        FrameBuffer frameBuffer = new FrameBuffer();
+        DepthBuffer depthBuffer = new DepthBuffer();
+        frameBuffer.resize(size, size);
+        depthBuffer.resize(size, size);
+        frameBuffer.clear(BACKGROUND);
+        depthBuffer.clear();
+        
+        LineBatch lines = new LineBatch();
+        // Диагональ далеко за пределы экрана: после обрезки рисуется ровно диагональ экрана
+        lines.add(-100, -100, 0.5f, 200, 200, 0.5f, 0x00FF00);
+        new LineRasterizer().render(lines, frameBuffer, null);
+        int[] pixels = frameBuffer.getPixels();
+        int onDiagonal = 0, other = 0;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if (pixels[y * size + x] != BACKGROUND) {
+                    if (x == y) onDiagonal++; else other++;
+                }
+            }
+        }
+        assertTrue(onDiagonal == size && other == 0, "Обрезанная по экрану линия - ровно диагональ");
+        
+        // Левая половина экрана закрыта ближней гранью: линия на дальней глубине видна только справа
+        frameBuffer.clear(BACKGROUND);
+        TriangleBatch batch = new TriangleBatch();
+        addTriangle(batch, new double[]{0, 0, 0.9}, new double[]{16, 0, 0.9}, new double[]{16, 32, 0.9}, BACKGROUND);
+        addTriangle(batch, new double[]{0, 0, 0.9}, new double[]{16, 32, 0.9}, new double[]{0, 32, 0.9}, BACKGROUND);
+        Shading shading = new Shading();
+        shading.enableLighting = false;
+        new TileRasterizer().render(batch, frameBuffer, depthBuffer, shading);
+        lines.clear();
+        lines.add(0, 10, 0.5f, 31, 10, 0.5f, 0x00FF00);
+        // Линия на той же глубине, что и грань, видна благодаря допуску
+        lines.add(0, 20, 0.9f, 31, 20, 0.9f, 0x0000FF);
+        new LineRasterizer().render(lines, frameBuffer, depthBuffer);
+        assertTrue(pixels[10 * size + 4] == BACKGROUND && pixels[10 * size + 28] == 0x00FF00,
+            "Закрытая часть линии не рисуется");
+        assertTrue(pixels[20 * size + 4] == 0x0000FF, "Ребро на поверхности грани не проигрывает ей по глубине");
+    }
+    
+    private static void testPointSprites() {
+        System.out.println("Тест: testPointSprites");
+        
+        int size = 64;
+        FrameBuffer frameBuffer = new FrameBuffer();
+        DepthBuffer depthBuffer = new DepthBuffer();
+        frameBuffer.resize(size, size);
+        depthBuffer.resize(size, size);
+        frameBuffer.clear(BACKGROUND);
+        depthBuffer.clear();
+        
+        ViewTransform view = new ViewTransform();
+        view.set(0, 0, 0, 0, 0, new Vector3f(0, 0, 0), 10, 10, 32, 32, depthBuffer, 0.1);
+        Model vertices = meshOf(
+            new Vertex(-2, -2, 0), new Vertex(2, -2, 0), new Vertex(0, 2, 0));
+        TransformedVertices transformed = new TransformedVertices();
+        view.transform(vertices, transformed);
+        
+        PointRasterizer points = new PointRasterizer();
+        int drawn = points.render(transformed, frameBuffer, null, 0xFF0000);
+        int[] pixels = frameBuffer.getPixels();
+        boolean centers = true;
+        for (int i = 0; i < transformed.size(); i++) {
+            int x = (int) transformed.getScreenX()[i], y = (int) transformed.getScreenY()[i];
+            centers &= pixels[y * size + x] == 0xFF0000;
+        }
+        assertTrue(drawn == 3 && centers, "Редкие вершины рисуются спрайтами, получено " + drawn);
+        
+        // Грань перед вершинами закрывает весь экран: вершины не рисуются
+        frameBuffer.clear(BACKGROUND);
+        float nearer = Math.min(1, transformed.getDepth()[0] * 2);
+        TriangleBatch batch = new TriangleBatch();
+        addTriangle(batch, new double[]{0, 0, nearer}, new double[]{64, 0, nearer}, new double[]{64, 64, nearer}, BACKGROUND);
+        addTriangle(batch, new double[]{0, 0, nearer}, new double[]{64, 64, nearer}, new double[]{0, 64, nearer}, BACKGROUND);
+        Shading shading = new Shading();
+        shading.enableLighting = false;
+        new TileRasterizer().render(batch, frameBuffer, depthBuffer, shading);
+        points.render(transformed, frameBuffer, depthBuffer, 0xFF0000);
+        boolean hidden = true;
+        for (int pixel : pixels) hidden &= pixel == BACKGROUND;
+        assertTrue(hidden, "Вершины за гранью скрыты тестом глубины");
+        
+        // Плотное облако вершин: рисуется по одной на ячейку, но без пустых ячеек
+        frameBuffer.clear(BACKGROUND);
+        Random random = new Random(7);
+        Model cloud = new Model("cloud");
+        for (int i = 0; i < 2000; i++) {
+            cloud.addVertex(random.nextDouble() * 2 - 1, random.nextDouble() * 2 - 1, 0, 0, 0, 0, 0, 1);
+        }
+        view.transform(cloud, transformed);
+        drawn = points.render(transformed, frameBuffer, null, 0xFF0000);
+        boolean covered = true;
+        for (int i = 0; i < transformed.size(); i++) {
+            int x = (int) transformed.getScreenX()[i], y = (int) transformed.getScreenY()[i];
+            covered &= pixels[y * size + x] != BACKGROUND;
+        }
+        assertTrue(drawn == 2000 && covered, "Прореживание облака не оставляет вершин без точки");
+        
+        // Закрытая и видимая вершины в одной ячейке прореживания: закрытая (с меньшим индексом)
+        // не должна занимать ячейку. Грань между ними по глубине закрывает только дальнюю
+        Model pair = meshOf(new Vertex(0, 0, 1), new Vertex(0, 0, -1));
+        view.transform(pair, transformed);
+        float[] depth = transformed.getDepth();
+        float between = (depth[0] + depth[1]) / 2;
+        depthBuffer.clear();
+        frameBuffer.clear(BACKGROUND);
+        batch = new TriangleBatch();
+        addTriangle(batch, new double[]{0, 0, between}, new double[]{64, 0, between}, new double[]{64, 64, between}, BACKGROUND);
+        addTriangle(batch, new double[]{0, 0, between}, new double[]{64, 64, between}, new double[]{0, 64, between}, BACKGROUND);
+        new TileRasterizer().render(batch, frameBuffer, depthBuffer, shading);
+        int cx = (int) transformed.getScreenX()[0], cy = (int) transformed.getScreenY()[0];
+        if (depthBuffer.testBiased(cy * size + cx, depth[0], LineRasterizer.DEPTH_BIAS)) {
+            // Первой должна идти закрытая вершина
+            pair = meshOf(new Vertex(0, 0, -1), new Vertex(0, 0, 1));
+            view.transform(pair, transformed);
+        }
+        boolean sameCell = (int) transformed.getScreenX()[1] / PointRasterizer.CELL_SIZE == cx / PointRasterizer.CELL_SIZE
+            && (int) transformed.getScreenY()[1] / PointRasterizer.CELL_SIZE == cy / PointRasterizer.CELL_SIZE;
+        points.render(transformed, frameBuffer, depthBuffer, 0xFF0000);
+        assertTrue(sameCell && pixels[cy * size + cx] == 0xFF0000,
+            "Закрытая вершина не занимает ячейку видимой");
+    }
+}